@@ -101,6 +101,9 @@ public class LoginStats
         }
 
         parse_line.close(); 
+
+        //pair the login and logout records of all users once, before any query
+        inventory.getSessionTable();
         
         //USER INTERFACE 
         Scanner user_input = new Scanner(System.in); 
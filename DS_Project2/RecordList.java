@@ -1,6 +1,7 @@
 package project2; 
 import java.util.ArrayList; 
 import java.util.Date;
+import java.util.HashMap;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 
@@ -12,6 +13,8 @@ import java.util.Scanner;
 * details of a particular user.
 * 
 * This class stores Record objects in a chronological order. 
+* The sessions of all users are paired once, into a SessionTable that answers
+* all the queries until the list is changed again.
 * 
 * @author Sandhya Sharma 
 *
@@ -19,6 +22,12 @@ import java.util.Scanner;
 
 public class RecordList extends ArrayList<Record>
 {
+    //private members: the sessions of all users, null if they have to be paired
+    //again, and the value of modCount when they were paired (any structural change
+    //of the list changes modCount)
+    private SessionTable session_table;
+    private int table_mod_count;
+
      /**
      * Constructs a new empty RecordList object by calling super() from ArrayList.
      */
@@ -27,6 +36,49 @@ public class RecordList extends ArrayList<Record>
         super(); 
     }
 
+    /**
+     * Returns the table of the sessions of all users, pairing the records of
+     * every user if this has not been done since the list was last changed.
+     * LoginStats builds the table once, right after the records are loaded.
+     * @return the sessions of all users in this list
+     */
+    public SessionTable getSessionTable()
+    {
+        if(session_table == null || table_mod_count != modCount){
+            //group the records by user, keeping the order of the list
+            HashMap<String, ArrayList<Record>> user_records = new HashMap<String, ArrayList<Record>>();
+            for(Record record : this){
+                //a record without a user name cannot match any user
+                if(record == null || record.getUsername() == null)
+                    continue;
+                String key = SessionTable.userKey(record.getUsername());
+                ArrayList<Record> records = user_records.get(key);
+                if(records == null){
+                    records = new ArrayList<Record>();
+                    user_records.put(key, records);
+                }
+                records.add(record);
+            }
+            session_table = new SessionTable(user_records);
+            table_mod_count = modCount;
+        }
+        return session_table;
+    }
+
+    /**
+     * Replaces the record at the specified position in this list.
+     * (Unlike other changes, this does not change modCount.)
+     * @param index index of the record to replace
+     * @param record record to be stored at the specified position
+     * @return the record previously at the specified position
+     */
+    @Override
+    public Record set(int index, Record record)
+    {
+        session_table = null;
+        return super.set(index, record);
+    }
+
     /**
      * Search through the list of Record objects for an object matching 
      * the given username. 
@@ -43,61 +95,7 @@ public class RecordList extends ArrayList<Record>
         if(this.isEmpty())
             throw new NoSuchElementException("Record is empty.");
 
-        int first_terminal = 0; 
-        boolean first_login = false; 
-        Date first_login_time = new Date();
-        boolean user_found = false; 
-        int first_login_index = 0; 
-
-        //iterate through the inventory to look for matches for the particular user 
-        for(int i = 0; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).isLogin() == true){
-                first_terminal = this.get(i).getTerminal();
-                first_login = this.get(i).isLogin();  
-                first_login_time = this.get(i).getTime(); 
-                user_found = true; 
-                first_login_index = i;
-                break; 
-            }
-        }
-
-        //in case of user name not found
-        if (user_found == false){
-            throw new NoSuchElementException("User not in the list."); 
-        }
-
-        //build a Record object using arguments retrieved from the matched login Record object in the list
-        Record first_login_record = new Record(first_terminal, first_login, user, first_login_time);
-
-        boolean first_logout = false; 
-        Date first_logout_time = new Date(); 
-        boolean still_logged_in = true; 
-
-        //iterate through the inventory after the first login data index to look for matching logout data 
-        for(int i = first_login_index; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).getTerminal() == first_terminal && this.get(i).isLogout() == true){
-                first_logout = this.get(i).isLogout();  
-                first_logout_time = this.get(i).getTime(); 
-                still_logged_in = false; 
-                break;
-            }
-        }
-        
-        //building a Session object according to the logout status of the user
-        if(still_logged_in == false){
-            //build a Record object using arguments retrieved from the matched logout Record object in the list
-            Record first_logout_record = new Record(first_terminal, first_logout, user, first_logout_time);
-            //Session object is constructed using login and logout Record objects
-            Session first_session = new Session(first_login_record, first_logout_record);
-            return first_session;
-        }
-        else{
-            //if the user is still logged in, Session object is constructed using one argument only
-            Session first_session = new Session(first_login_record); 
-            return first_session;
-        } 
+        return getSessionTable().getFirstSession(user);
     }
 
     /**
@@ -116,58 +114,6 @@ public class RecordList extends ArrayList<Record>
         if(this.isEmpty())
             throw new NoSuchElementException("Record is empty.");
         
-        int last_terminal = 0;
-        boolean last_login = false;
-        Date last_login_time = new Date(); 
-        boolean user_found = false; 
-        int last_login_index = 0; 
-
-        //iterate through the inventory to look for matches for the particular user
-        for(int i = 0; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).isLogin() == true){
-                last_terminal = this.get(i).getTerminal();
-                last_login = this.get(i).isLogin();  
-                last_login_time = this.get(i).getTime(); 
-                user_found = true; 
-                last_login_index = i;
-            }
-        }
-
-        //in case of user name not found
-        if (user_found == false){
-            throw new NoSuchElementException("User not in the list."); 
-        }
-
-        //build a Record object using arguments retrieved from the matched login Record object in the list
-        Record last_login_record = new Record(last_terminal, last_login, user, last_login_time);
-
-        boolean last_logout = false;
-        Date last_logout_time = new Date();
-        boolean still_logged_in = true;
-
-        //iterate through the inventory after the last login data index to look for matching logout data 
-        for(int i = last_login_index; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).getTerminal() == last_terminal && this.get(i).isLogout() == true){
-                last_logout = this.get(i).isLogout();  
-                last_logout_time = this.get(i).getTime(); 
-                still_logged_in = false; 
-            }
-        }
-
-        //building a Session object according to the logout status of the user
-        if(still_logged_in == false){
-            //build a Record object using arguments retrieved from the matched logout Record object in the list
-            Record last_logout_record = new Record(last_terminal, last_logout, user, last_logout_time);
-            //Session object is constructed using login and logout Record objects
-            Session last_session = new Session(last_login_record, last_logout_record);
-            return last_session;
-        }
-        else{
-            //if the user is still logged in, Session object is constructed using one argument only
-            Session last_session = new Session(last_login_record);
-            return last_session;
-        }
+        return getSessionTable().getLastSession(user);
     }
 }
@@ -0,0 +1,206 @@
+package project2;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/* *
+*
+* SessionTable holds the sessions of every user of a RecordList, paired once when
+* the table is built, together with the first and last session of each user,
+* the number of sessions and their total duration. Each query only looks up the
+* user, so it does not depend on the number of records; the table never changes
+* after it has been built.
+*
+* The Session objects are created when they are requested, with the user name
+* exactly as it was given in the query.
+*
+* @version October 18, 2026
+*
+*/
+
+public class SessionTable
+{
+    /* Inner class to represent the sessions of a single user.*/
+    private static class UserSessions
+    {
+        //the first and the last login Record objects of the user, and the logout
+        //reported for each of them: the first logout on the terminal after the first
+        //login, the latest logout on the terminal after the last login (or null)
+        Record first_login;
+        Record first_logout;
+        Record last_login;
+        Record last_logout;
+        //number of logins and total duration of all completed sessions in milliseconds
+        int count;
+        long total_time;
+    }
+
+    //private members: the sessions of each user who has logged in at least once,
+    //keyed by the user name in lower case
+    private final HashMap<String, UserSessions> users;
+
+    /**
+     * Builds the table from the records of each user.
+     * @param user_records the records of each user in the order of the list, keyed by
+     * the user name in lower case (see userKey())
+     */
+    SessionTable(Map<String, ArrayList<Record>> user_records)
+    {
+        users = new HashMap<String, UserSessions>();
+        for(Map.Entry<String, ArrayList<Record>> entry : user_records.entrySet()){
+            UserSessions sessions = pairSessions(entry.getValue());
+            if(sessions != null)
+                users.put(entry.getKey(), sessions);
+        }
+    }
+
+    /**
+     * Returns the key under which the sessions of a user are stored: user names
+     * are compared ignoring case, the key does not depend on the default locale.
+     * @param user the name of a user
+     * @return the name in lower case
+     */
+    static String userKey(String user)
+    {
+        return user.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Pairs the logins of a user with their logouts in a single pass: every login
+     * is kept as an open session of its terminal, and a logout closes all the open
+     * sessions of its terminal.
+     * @param records the records of the user in the order of the list
+     * @return the sessions of the user, or null if the user has never logged in
+     */
+    private static UserSessions pairSessions(ArrayList<Record> records)
+    {
+        UserSessions sessions = new UserSessions();
+        //login times of the sessions still open on each terminal
+        HashMap<Integer, ArrayList<Long>> open_sessions = new HashMap<Integer, ArrayList<Long>>();
+
+        for(Record current_record : records){
+            int terminal = current_record.getTerminal();
+
+            if(current_record.isLogin() == true){
+                if(sessions.first_login == null)
+                    sessions.first_login = current_record;
+                sessions.last_login = current_record;
+                sessions.last_logout = null;
+                sessions.count++;
+
+                ArrayList<Long> open = open_sessions.get(terminal);
+                if(open == null){
+                    open = new ArrayList<Long>();
+                    open_sessions.put(terminal, open);
+                }
+                open.add(current_record.getTime().getTime());
+            }
+            else{
+                if(sessions.first_login != null && sessions.first_logout == null
+                   && sessions.first_login.getTerminal() == terminal)
+                    sessions.first_logout = current_record;
+                if(sessions.last_login != null && sessions.last_login.getTerminal() == terminal)
+                    sessions.last_logout = current_record;
+
+                //the first logout after a login on the same terminal ends its session
+                ArrayList<Long> open = open_sessions.get(terminal);
+                if(open == null)
+                    continue;
+                for(long login_time : open){
+                    long session_time = current_record.getTime().getTime() - login_time;
+                    if(session_time > 0)
+                        sessions.total_time += session_time;
+                }
+                open.clear();
+            }
+        }
+
+        if(sessions.first_login == null)
+            return null;
+        return sessions;
+    }
+
+    /**
+     * Returns the sessions of the given user.
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    private UserSessions getUser(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = users.get(userKey(user));
+        if(sessions == null)
+            throw new NoSuchElementException("User not in the list.");
+        return sessions;
+    }
+
+    /**
+     * Builds a Session object for the given user from a login and a logout Record
+     * object (null if the user is still logged in).
+     */
+    private static Session makeSession(String user, Record login, Record logout)
+    {
+        Record login_record = new Record(login.getTerminal(), true, user, login.getTime());
+        if(logout == null)
+            return new Session(login_record);
+        Record logout_record = new Record(logout.getTerminal(), false, user, logout.getTime());
+        return new Session(login_record, logout_record);
+    }
+
+    /**
+     * Returns the number of users who have logged in at least once.
+     * @return the number of users in this table
+     */
+    public int getUserCount()
+    {
+        return users.size();
+    }
+
+    /**
+     * Returns the first session of the given user.
+     * @param user the name of the user (not case sensitive)
+     * @return the first session of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public Session getFirstSession(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = getUser(user);
+        return makeSession(user, sessions.first_login, sessions.first_logout);
+    }
+
+    /**
+     * Returns the last session of the given user, ended by the latest logout on
+     * its terminal.
+     * @param user the name of the user (not case sensitive)
+     * @return the last session of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public Session getLastSession(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = getUser(user);
+        return makeSession(user, sessions.last_login, sessions.last_logout);
+    }
+
+    /**
+     * Returns the number of sessions of the given user, including a session that
+     * is still active.
+     * @param user the name of the user (not case sensitive)
+     * @return the number of sessions of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public int getSessionCount(String user) throws NoSuchElementException
+    {
+        return getUser(user).count;
+    }
+
+    /**
+     * Returns the total time of all completed sessions of the given user.
+     * @param user the name of the user (not case sensitive)
+     * @return total time of all completed sessions in milliseconds
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public long getTotalTime(String user) throws NoSuchElementException
+    {
+        return getUser(user).total_time;
+    }
+}
@@ -110,6 +110,9 @@ public class LoginStats
         if(parse_line != null)
             parse_line.close();
 
+        //pair the login and logout records of all users once, before any query
+        inventory.getSessionTable();
+
         //USER INTERFACE 
         Scanner user_input = new Scanner(System.in); 
         String input = " "; 
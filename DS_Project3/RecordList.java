@@ -2,6 +2,8 @@ package project3;
 
 import java.util.ArrayList; 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 import javax.crypto.NullCipher;
@@ -16,6 +18,9 @@ import java.util.Iterator;
 * all sessions and total time of a particular user. 
 * 
 * This class stores Record objects in a chronological order. 
+* The records of each user are also kept in a separate chronological list.
+* The sessions of all users are paired from these lists once, into a SessionTable
+* that answers all the queries until the list is changed again.
 * 
 * @author Sandhya Sharma 
 *
@@ -23,12 +28,107 @@ import java.util.Iterator;
 
 public class RecordList extends SortedLinkedList<Record>
 {
+    //private members: the records of each user in chronological order, 
+    //keyed by the user name in lower case
+    private HashMap<String, SortedLinkedList<Record>> user_records;
+    //the sessions of all users, null if they have to be paired again
+    private SessionTable session_table;
+
      /**
      * Constructs a new empty RecordList object by calling super() from SortedLinkedList.
      */
     public RecordList()
     {
         super(); 
+        user_records = new HashMap<String, SortedLinkedList<Record>>();
+    }
+
+    /**
+     * Adds the specified record to this list in chronological order, and
+     * to the list of records of its user.
+     *
+     * @param record the record to add
+     * @return true if the record was added successfully, false otherwise (or if the record is null)
+     */
+    @Override
+    public boolean add(Record record)
+    {
+        if(!super.add(record))
+            return false;
+        session_table = null;
+
+        //a record without a user name cannot match any user
+        if(record.getUsername() == null)
+            return true;
+
+        String key = userKey(record.getUsername());
+        SortedLinkedList<Record> records = user_records.get(key);
+        if(records == null){
+            records = new SortedLinkedList<Record>();
+            user_records.put(key, records);
+        }
+        records.add(record);
+        return true;
+    }
+
+    /**
+     * Removes the first occurence of the specified record from this list and
+     * from the list of records of its user.
+     *
+     * @param o the record to remove
+     * @return true if the record was removed successfully, false otherwise
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        if(!super.remove(o))
+            return false;
+        session_table = null;
+
+        //only a Record object can have been removed
+        Record record = (Record) o;
+        if(record.getUsername() == null)
+            return true;
+
+        String key = userKey(record.getUsername());
+        SortedLinkedList<Record> records = user_records.get(key);
+        records.remove(record);
+        if(records.size() == 0)
+            user_records.remove(key);
+        return true;
+    }
+
+    /**
+     * Removes all records from this list.
+     */
+    @Override
+    public void clear()
+    {
+        super.clear();
+        user_records.clear();
+        session_table = null;
+    }
+
+    /**
+     * Returns the key under which the records of a user are stored: user names
+     * are compared ignoring case, the key does not depend on the default locale.
+     */
+    static String userKey(String user)
+    {
+        return user.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the table of the sessions of all users, pairing the records of
+     * every user if this has not been done since the list was last changed.
+     * LoginStats builds the table once, right after the records are loaded.
+     * @return the sessions of all users in this list
+     */
+    public SessionTable getSessionTable()
+    {
+        if(session_table == null)
+            session_table = new SessionTable(user_records);
+        return session_table;
     }
 
     /**
@@ -48,60 +148,7 @@ public class RecordList extends SortedLinkedList<Record>
         if(this.size() == 0)
             throw new NoSuchElementException("Record is empty.");
 
-        int first_terminal = 0; 
-        boolean first_login = false; 
-        Date first_login_time = new Date();
-        boolean user_found = false; 
-        int first_login_index = 0; 
-
-        //iterate through the inventory to look for matches for the particular user 
-        for(int i = 0; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).isLogin() == true){
-                first_terminal = this.get(i).getTerminal();
-                first_login = this.get(i).isLogin();  
-                first_login_time = this.get(i).getTime(); 
-                user_found = true; 
-                first_login_index = i;
-                break; 
-            }
-        }
-
-        //in case of user name not found
-        if (user_found == false)
-            throw new NoSuchElementException("User not in the list."); 
-
-        //build a Record object using arguments retrieved from the matched login Record object in the list
-        Record first_login_record = new Record(first_terminal, first_login, user, first_login_time);
-
-        boolean first_logout = false; 
-        Date first_logout_time = new Date(); 
-        boolean still_logged_in = true; 
-
-        //iterate through the inventory after the first login data index to look for matching logout data 
-        for(int i = first_login_index; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).getTerminal() == first_terminal && this.get(i).isLogout() == true){
-                first_logout = this.get(i).isLogout();  
-                first_logout_time = this.get(i).getTime(); 
-                still_logged_in = false; 
-                break;
-            }
-        }
-        
-        //building a Session object according to the logout status of the user
-        if(still_logged_in == false){
-            //build a Record object using arguments retrieved from the matched logout Record object in the list
-            Record first_logout_record = new Record(first_terminal, !first_logout, user, first_logout_time);
-            //Session object is constructed using login and logout Record objects
-            Session first_session = new Session(first_login_record, first_logout_record);
-            return first_session;
-        }
-        else{
-            //if the user is still logged in, Session object is constructed using one argument only
-            Session first_session = new Session(first_login_record); 
-            return first_session;
-        } 
+        return getSessionTable().getFirstSession(user);
     }
 
     /**
@@ -121,63 +168,11 @@ public class RecordList extends SortedLinkedList<Record>
         if(this.size() == 0)
             throw new NoSuchElementException("Record is empty.");
         
-        int last_terminal = 0;
-        boolean last_login = false;
-        Date last_login_time = new Date(); 
-        boolean user_found = false; 
-        int last_login_index = 0; 
-
-        //iterate through the inventory to look for matches for the particular user
-        for(int i = 0; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).isLogin() == true){
-                last_terminal = this.get(i).getTerminal();
-                last_login = this.get(i).isLogin();  
-                last_login_time = this.get(i).getTime(); 
-                user_found = true; 
-                last_login_index = i;
-            }
-        }
-
-        //in case of user name not found
-        if (user_found == false){
-            throw new NoSuchElementException("User not in the list."); 
-        }
-
-        //build a Record object using arguments retrieved from the matched login Record object in the list
-        Record last_login_record = new Record(last_terminal, last_login, user, last_login_time);
-
-        boolean last_logout = false;
-        Date last_logout_time = new Date();
-        boolean still_logged_in = true;
-
-        //iterate through the inventory after the last login data index to look for matching logout data 
-        for(int i = last_login_index; i < this.size(); i++){
-            String current_name = this.get(i).getUsername();
-            if (current_name.equalsIgnoreCase(user) && this.get(i).getTerminal() == last_terminal && this.get(i).isLogout() == true){
-                last_logout = this.get(i).isLogout();  
-                last_logout_time = this.get(i).getTime(); 
-                still_logged_in = false; 
-            }
-        }
-
-        //building a Session object according to the logout status of the user
-        if(still_logged_in == false){
-            //build a Record object using arguments retrieved from the matched logout Record object in the list
-            Record last_logout_record = new Record(last_terminal, !last_logout, user, last_logout_time);
-            //Session object is constructed using login and logout Record objects
-            Session last_session = new Session(last_login_record, last_logout_record);
-            return last_session;
-        }
-        else{
-            //if the user is still logged in, Session object is constructed using one argument only
-            Session last_session = new Session(last_login_record);
-            return last_session;
-        }
+        return getSessionTable().getLastSession(user);
     }
      /**
-     * This function calls on the getAllSessions() method to get all the sessions of a particular user, 
-     * then computes the total time of all sessions if the user is not still logged in.
+     * This function returns the total time of all sessions of a particular user
+     * across terminals, not counting a session in which the user is still logged in.
      * @return total time of all sessions of a particular user across terminals
      * @throws IllegalArgumentException if the user name is not given or is empty
      * @throws NoSuchElementException if this object is empty
@@ -190,22 +185,7 @@ public class RecordList extends SortedLinkedList<Record>
         if(this.size() == 0)
             throw new NoSuchElementException("Record is empty.");
         
-        long total_time = 0;
-
-        SortedLinkedList user_all_sessions = this.getAllSessions(user);
-
-        Iterator<Session> itr = user_all_sessions.iterator();
-
-        while(itr.hasNext()){
-            Session current_session = itr.next();
-            if(current_session.getLogoutTime() != null){
-                long session_time = current_session.getDuration();
-                if(session_time > 0)
-                    total_time += session_time;
-            }
-        }
-
-        return total_time; 
+        return getSessionTable().getTotalTime(user);
     }
 
     /**
@@ -216,73 +196,13 @@ public class RecordList extends SortedLinkedList<Record>
      */
     public SortedLinkedList<Session> getAllSessions(String user) throws IllegalArgumentException, NoSuchElementException
     {
-        SortedLinkedList<Session> all_sessions = new SortedLinkedList<Session>(); 
-
         if(user == null || user.isEmpty()) 
             throw new IllegalArgumentException("User name must be given to get the sessions.");
         
         if(this.size() == 0)
             throw new NoSuchElementException("Record is empty."); 
 
-        String current_name = " "; 
-        int terminal = 0;
-        boolean login = false;  
-        Date login_time = new Date(); 
-        int login_index = -1; 
-        boolean user_found = false;
-
-        boolean logout = false;
-        Date logout_time = new Date();
-        boolean still_logged_in = true;
-
-        //using an iterator object to iterate throught the list
-        Iterator<Record> itr = this.iterator(); 
-
-        while(itr.hasNext()){
-            Record current_record = itr.next();
-            current_name = current_record.getUsername();
-            
-            if(current_name.equalsIgnoreCase(user) && current_record.isLogin() == true){
-                //get the login data from the matched Record object
-                terminal = current_record.getTerminal();
-                login = current_record.isLogin();  
-                login_time = current_record.getTime(); 
-                user_found = true; 
-                login_index = this.indexOf(current_record);
-                still_logged_in = true;
-
-                //build a Record object using arguments retrieved from the matched login Record object in the list
-                Record login_record = new Record(terminal, login, user, login_time); 
-
-                //iterate through the inventory after the login data index to look for matching logout data since the is in a chronological order
-                for (int i = login_index; i < this.size(); i++){
-                    if (current_name.equalsIgnoreCase(user) && this.get(i).getTerminal() == terminal && this.get(i).isLogout() == true){
-                        logout_time = this.get(i).getTime(); 
-                        logout = this.get(i).isLogout();
-                        still_logged_in = false; 
-                        break;
-                    }
-                }
-
-                //build a Record object using arguments retrieved from the matched logout Record object in the list
-                //check for both cases: if the user is stil logged in or not
-                if(!still_logged_in){
-                    Record logout_record = new Record(terminal, !logout, user, logout_time);
-                    Session session = new Session(login_record, logout_record);
-                    all_sessions.add(session); 
-                }
-                else{
-                    Session session = new Session(login_record);
-                    all_sessions.add(session); 
-                }
-            }
-        }
-
-        //in case of user name not found in the list
-        if(!user_found)
-            throw new NoSuchElementException("User not in the list.");
-
-        return all_sessions; 
+        return getSessionTable().getAllSessions(user);
     }  
 
     /**
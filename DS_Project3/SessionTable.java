@@ -0,0 +1,220 @@
+package project3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/* *
+*
+* SessionTable holds the sessions of every user of a RecordList, paired once when
+* the table is built, together with the totals that the LoginStats queries need:
+* the first and last session, the number of sessions and their total duration.
+* Each query only looks up the user, so it no longer depends on the number of
+* records; the table never changes after it has been built.
+*
+* The Session objects are created when they are requested, with the user name
+* exactly as it was given in the query, like the sessions built by RecordList
+* before the table existed.
+*
+* @version October 18, 2026
+*
+*/
+
+public class SessionTable
+{
+    /* Inner class to represent the sessions of a single user.*/
+    private static class UserSessions
+    {
+        //login Record objects in chronological order and the matching logout
+        //Record object of each of them (null if the user is still logged in)
+        Record[] logins;
+        Record[] logouts;
+        //the logout reported for the last login: the latest logout on its terminal after it
+        Record last_logout;
+        //total duration of all completed sessions in milliseconds
+        long total_time;
+    }
+
+    //private members: the sessions of each user who has logged in at least once,
+    //keyed by the user name in lower case
+    private final HashMap<String, UserSessions> users;
+
+    /**
+     * Builds the table from the records of each user.
+     * @param user_records the records of each user in chronological order, keyed by
+     * the user name in lower case
+     */
+    SessionTable(Map<String, ? extends Iterable<Record>> user_records)
+    {
+        users = new HashMap<String, UserSessions>();
+        for(Map.Entry<String, ? extends Iterable<Record>> entry : user_records.entrySet()){
+            UserSessions sessions = pairSessions(entry.getValue().iterator());
+            if(sessions != null)
+                users.put(entry.getKey(), sessions);
+        }
+    }
+
+    /**
+     * Pairs the logins of a user with their logouts in a single pass: every login
+     * is kept as an open session of its terminal, and a logout closes all the open
+     * sessions of its terminal.
+     * @param itr iterator over the records of the user in chronological order
+     * @return the sessions of the user, or null if the user has never logged in
+     */
+    private static UserSessions pairSessions(Iterator<Record> itr)
+    {
+        ArrayList<Record> logins = new ArrayList<Record>();
+        ArrayList<Record> logouts = new ArrayList<Record>();
+        //positions in logins of the sessions still open on each terminal
+        HashMap<Integer, ArrayList<Integer>> open_sessions = new HashMap<Integer, ArrayList<Integer>>();
+        Record last_login = null;
+        Record last_logout = null;
+
+        while(itr.hasNext()){
+            Record current_record = itr.next();
+            int terminal = current_record.getTerminal();
+
+            if(current_record.isLogin() == true){
+                logins.add(current_record);
+                logouts.add(null);
+                last_login = current_record;
+                last_logout = null;
+
+                ArrayList<Integer> open = open_sessions.get(terminal);
+                if(open == null){
+                    open = new ArrayList<Integer>();
+                    open_sessions.put(terminal, open);
+                }
+                open.add(logins.size() - 1);
+            }
+            else{
+                if(last_login != null && last_login.getTerminal() == terminal)
+                    last_logout = current_record;
+
+                //the first logout after a login on the same terminal ends its session
+                ArrayList<Integer> open = open_sessions.get(terminal);
+                if(open == null)
+                    continue;
+                for(int i : open)
+                    logouts.set(i, current_record);
+                open.clear();
+            }
+        }
+
+        if(logins.isEmpty())
+            return null;
+
+        UserSessions sessions = new UserSessions();
+        sessions.logins = logins.toArray(new Record[0]);
+        sessions.logouts = logouts.toArray(new Record[0]);
+        sessions.last_logout = last_logout;
+        for(int i = 0; i < sessions.logins.length; i++){
+            if(sessions.logouts[i] != null){
+                long session_time = sessions.logouts[i].getTime().getTime() - sessions.logins[i].getTime().getTime();
+                if(session_time > 0)
+                    sessions.total_time += session_time;
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Returns the sessions of the given user.
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    private UserSessions getUser(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = users.get(RecordList.userKey(user));
+        if(sessions == null)
+            throw new NoSuchElementException("User not in the list.");
+        return sessions;
+    }
+
+    /**
+     * Builds a Session object for the given user from a login and a logout Record
+     * object (null if the user is still logged in).
+     */
+    private static Session makeSession(String user, Record login, Record logout)
+    {
+        Record login_record = new Record(login.getTerminal(), true, user, login.getTime());
+        if(logout == null)
+            return new Session(login_record);
+        Record logout_record = new Record(logout.getTerminal(), false, user, logout.getTime());
+        return new Session(login_record, logout_record);
+    }
+
+    /**
+     * Returns the number of users who have logged in at least once.
+     * @return the number of users in this table
+     */
+    public int getUserCount()
+    {
+        return users.size();
+    }
+
+    /**
+     * Returns the first session of the given user.
+     * @param user the name of the user (not case sensitive)
+     * @return the first session of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public Session getFirstSession(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = getUser(user);
+        return makeSession(user, sessions.logins[0], sessions.logouts[0]);
+    }
+
+    /**
+     * Returns the last session of the given user, ended by the latest logout on
+     * its terminal.
+     * @param user the name of the user (not case sensitive)
+     * @return the last session of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public Session getLastSession(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = getUser(user);
+        return makeSession(user, sessions.logins[sessions.logins.length - 1], sessions.last_logout);
+    }
+
+    /**
+     * Returns all the sessions of the given user across terminals, in the order
+     * of their logins. The returned list is a new list every time.
+     * @param user the name of the user (not case sensitive)
+     * @return a SortedLinkedList of Session objects for the given user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public SortedLinkedList<Session> getAllSessions(String user) throws NoSuchElementException
+    {
+        UserSessions sessions = getUser(user);
+        SortedLinkedList<Session> all_sessions = new SortedLinkedList<Session>();
+        for(int i = 0; i < sessions.logins.length; i++)
+            all_sessions.add(makeSession(user, sessions.logins[i], sessions.logouts[i]));
+        return all_sessions;
+    }
+
+    /**
+     * Returns the number of sessions of the given user, including a session that
+     * is still active.
+     * @param user the name of the user (not case sensitive)
+     * @return the number of sessions of this user
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public int getSessionCount(String user) throws NoSuchElementException
+    {
+        return getUser(user).logins.length;
+    }
+
+    /**
+     * Returns the total time of all completed sessions of the given user.
+     * @param user the name of the user (not case sensitive)
+     * @return total time of all completed sessions in milliseconds
+     * @throws NoSuchElementException if the user has never logged in
+     */
+    public long getTotalTime(String user) throws NoSuchElementException
+    {
+        return getUser(user).total_time;
+    }
+}
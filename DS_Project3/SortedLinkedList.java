@@ -1,15 +1,32 @@
 package project3;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
-import org.w3c.dom.Node;
 import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * This is an implementation of a generic sorted doubly-linked list.
+ * This is an implementation of a generic sorted linked list.
  * All elements in the list are maintained in ascending/increasing order
  * based on the natural order of the elements.
  * This list does not allow <code>null</code> elements.
  *
+ * The nodes form a chain in ascending order, with skip list levels built on
+ * top of it: every node is given a random height and is linked to the next
+ * node of at least the same height at each of its levels. Each link also
+ * stores its span, the number of positions it skips, so that a search can
+ * count positions while it skips over most of the chain. This gives O(log n)
+ * expected time for add(), get(index), indexOf(), nextIndexOf(), contains()
+ * and remove(), while iteration still just follows the chain.
+ *
+ * The last node of every level is remembered as well, so adding an element
+ * that is not smaller than the last one (the usual case for login records,
+ * which arrive in chronological order) takes constant expected time.
+ *
+ * The searches for an element rely on elements that are equal to each other
+ * also being equal according to compareTo(), as the elements stored in this
+ * project are.
+ *
  * @author Joanna Klukowska
  * @author Sandhya Sharma
  *
@@ -18,38 +35,58 @@ import java.util.Iterator;
 
 public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
 {
+    //enough levels for far more elements than can ever fit in memory
+    private static final int MAX_LEVEL = 32;
+    //levels allocated for a new list, which are enough for a few dozen elements;
+    //more are allocated as taller nodes are added
+    private static final int INITIAL_LEVELS = 4;
+
     /* Inner class to represent nodes of this list.*/
-    private class Node implements Comparable<Node> 
+    private class Node implements Comparable<Node>
     {
         E data;
-        Node next;
-        Node prev;
-        Node(E data) {
-            if (data == null ) throw new NullPointerException ("does not allow null");
+        //next[0] is the next node in the chain, next[i] the next node of height > i;
+        //span[i] is the number of positions from this node to next[i] (or to the
+        //last node of the list if next[i] is null, so 0 for the last node itself)
+        Node[] next;
+        int[] span;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(E data, int height) {
             this.data = data;
-        }
-        Node (E data, Node next, Node prev) {
-            this(data);
-            this.next = next;
-            this.prev = prev;
+            this.next = new SortedLinkedList.Node[height];
+            this.span = new int[height];
         }
         public int compareTo( Node n ) {
             return this.data.compareTo(n.data);
         }
     }
 
-    private Node head;
-    private Node tail;
+    //private members: a header node that holds no element and has every level
+    //allocated so far (it is at position 0, the first element at position 1),
+    //the last node on each level (the header if there is none), the number of
+    //elements and the number of levels currently in use
+    private final Node header;
+    private Node[] last;
     private int size;
+    private int levels;
+    //the nodes before the position searched for on each level and their positions,
+    //filled in by add() and remove() (kept here so that they are not allocated
+    //for every element; searches that do not change the list use their own)
+    private Node[] update;
+    private int[] position;
 
     /**
      * Constructs a new empty sorted linked list.
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public SortedLinkedList()
     {
-        head = null; 
-        tail = null;
-        size = 0;
+        header = new Node(null, INITIAL_LEVELS);
+        last = new SortedLinkedList.Node[INITIAL_LEVELS];
+        update = new SortedLinkedList.Node[INITIAL_LEVELS];
+        position = new int[INITIAL_LEVELS];
+        reset();
     }
 
     /**
@@ -62,7 +99,8 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
     }
 
      /**
-     * Adds the specified element to the list in ascending order.
+     * Adds the specified element to the list in ascending order, after any
+     * elements equal to it.
      *
      * @param element the element to add
      * @return true if the element was added successfully, false otherwise (or if the element is null)
@@ -70,59 +108,107 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
     public boolean add(E element)
     {
         if(element == null)
-            return false; 
-        
-        if(this == null)
             return false;
 
-        Node newNode = new Node(element);
-
-        if (size == 0){
-            head = tail = newNode;
-            size++;
-            return true;
+        //find the node before the new one on each level and its position
+        if(size == 0 || last[0].data.compareTo(element) <= 0){
+            //the new element goes after the last one: its predecessors are the
+            //last nodes, whose links to the end of the list span the positions after them
+            for(int level = 0; level < levels; level++){
+                update[level] = last[level];
+                position[level] = size - last[level].span[level];
+            }
         }
-        
-        Node current = head;
-
-        while(current != null){
-            if(current.data.compareTo(newNode.data) > 0){
-                if(current == head){
-                    newNode.next = head;
-                    head.prev = newNode;
-                    head = newNode;
-                    newNode.prev = null; 
+        else{
+            //find the last node that is not greater than the element on each level
+            Node current = header;
+            int current_position = 0;
+            for(int level = levels - 1; level >= 0; level--){
+                while(current.next[level] != null && current.next[level].data.compareTo(element) <= 0){
+                    current_position += current.span[level];
+                    current = current.next[level];
                 }
-                else {
-                    newNode.next = current;
-                    newNode.prev = current.prev;
-                    current.prev.next = newNode;
-                    current.prev = newNode;
-                }
-                size++;
-                return true;
+                update[level] = current;
+                position[level] = current_position;
             }
-            else
-                current = current.next;
         }
 
-        tail.next = newNode;
-        newNode.prev = tail;
-        tail = newNode;
-        newNode.next = null;
-        size++;
+        int height = randomHeight();
+        if(height > header.next.length)
+            allocateLevels(height);
+        for(int level = levels; level < height; level++){
+            update[level] = header;
+            position[level] = 0;
+            header.span[level] = size;
+        }
+        if(height > levels)
+            levels = height;
+
+        Node newNode = new Node(element, height);
+        for(int level = 0; level < height; level++){
+            newNode.next[level] = update[level].next[level];
+            update[level].next[level] = newNode;
+            //the new node is at position[0] + 1
+            newNode.span[level] = update[level].span[level] - (position[0] - position[level]);
+            update[level].span[level] = position[0] - position[level] + 1;
+            if(newNode.next[level] == null)
+                last[level] = newNode;
+        }
+        //the links over the new node skip one more position
+        for(int level = height; level < levels; level++)
+            update[level].span[level]++;
 
+        size++;
         return true;
     }
 
+    /**
+     * Returns a random node height: 1 with probability 1/2, 2 with
+     * probability 1/4 and so on.
+     */
+    private int randomHeight()
+    {
+        return 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt()
+                                                 | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Allocates at least the given number of levels (twice as many as before,
+     * up to MAX_LEVEL) for the header, the last nodes and the predecessors.
+     * The new levels are empty: not linked and not in use yet.
+     */
+    private void allocateLevels(int height)
+    {
+        int old_capacity = header.next.length;
+        int capacity = Math.min(MAX_LEVEL, Math.max(height, 2 * old_capacity));
+        header.next = Arrays.copyOf(header.next, capacity);
+        header.span = Arrays.copyOf(header.span, capacity);
+        last = Arrays.copyOf(last, capacity);
+        Arrays.fill(last, old_capacity, capacity, header);
+        update = Arrays.copyOf(update, capacity);
+        position = Arrays.copyOf(position, capacity);
+    }
+
     /**
     * Removes all elements from the list.
     */
     public void clear()
     {
-        head = null;
-        tail = null; 
-        size = 0; 
+        reset();
+    }
+
+    /**
+     * Empties the list (clear() may be overridden, so the constructor uses this).
+     */
+    private void reset()
+    {
+        for(int level = 0; level < header.next.length; level++){
+            header.next[level] = null;
+            header.span[level] = 0;
+            last[level] = header;
+        }
+        size = 0;
+        levels = 1;
     }
 
     /**
@@ -135,24 +221,25 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
      */
     public boolean contains(Object o)
     {
-        if (o == null)
-            return false;
-        
-        if(this.size() == 0)
-            return false;
-        
-        if(!o.getClass().equals(head.data.getClass()))
-            return false;
-
-        Node current = head;
+        return indexOf(o) >= 0;
+    }
 
-        while(current != null){
-            if(current.data.equals(o))
-                return true;
-            current = current.next;
+    /**
+     * Returns the node at the given position (1 for the first element).
+     */
+    private Node nodeAt(int position)
+    {
+        Node current = header;
+        int current_position = 0;
+        for(int level = levels - 1; level >= 0; level--){
+            while(current.next[level] != null && current_position + current.span[level] <= position){
+                current_position += current.span[level];
+                current = current.next[level];
+            }
+            if(current_position == position)
+                return current;
         }
-
-        return false;
+        return current;
     }
 
      /**
@@ -168,22 +255,54 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
         if (index < 0 || index >= size())
             throw new IndexOutOfBoundsException("Index out of bounds.");
 
-        if(index == 0)
-            return head.data;
-        else if (index == size-1)
-            return tail.data;
-        
-        int counter = 1; 
-        Node current = head.next; 
+        if (index == size-1)
+            return last[0].data;
 
-        while(current != null){
-            if(counter == index)
-                return current.data;
-            current = current.next;
-            counter++;
+        return nodeAt(index + 1).data;
+    }
+
+    /**
+     * Finds, on every level in use, the last node that is smaller than the
+     * given element and stores it and its position in update and position.
+     *
+     * @param element the element to search for
+     * @param update array of at least levels elements to be filled in (or null)
+     * @param position array of at least levels elements to be filled in
+     * @return the first node that is not smaller than element, or null
+     */
+    private Node findPredecessors(E element, Node[] update, int[] position)
+    {
+        Node current = header;
+        int current_position = 0;
+        for(int level = levels - 1; level >= 0; level--){
+            while(current.next[level] != null && current.next[level].data.compareTo(element) < 0){
+                current_position += current.span[level];
+                current = current.next[level];
+            }
+            if(update != null)
+                update[level] = current;
+            position[level] = current_position;
         }
+        return current.next[0];
+    }
+
+    /**
+     * Returns the element as an E if it is of the same class as the elements
+     * of this list, or null if it cannot be in this list.
+     */
+    @SuppressWarnings("unchecked")
+    private E asElement(Object o)
+    {
+        if (o == null)
+            return null;
+
+        if(this.size() == 0)
+            return null;
+
+        if(!o.getClass().equals(header.next[0].data.getClass()))
+            return null;
 
-        return null;
+        return (E) o;
     }
 
      /**
@@ -196,26 +315,7 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
      */
     public int indexOf(Object o)
     {
-        if (o == null)
-            return -1;
-        
-        if(this.size() == 0)
-            return -1;
-
-        if(!o.getClass().equals(head.data.getClass()))
-            return -1;
-
-        Node current = head; 
-        int counter = 0;
-
-        while(current != null){
-            if(current.data.equals(o))
-                return counter;
-            current = current.next;
-            counter++;
-        }
-
-        return -1; 
+        return nextIndexOf(o, 0);
     }
 
     /**
@@ -229,30 +329,34 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
      * @return the index of the first occurrence of the element, starting at the specified index,
      * or -1 if the element is not found
      */
-    public int nextIndexOf(Object o, int index)  
+    public int nextIndexOf(Object o, int index)
     {
-        if (o == null)
-            return -1;
-        
-        if(this.size() == 0)
+        E element = asElement(o);
+        if(element == null)
             return -1;
 
-        if(!o.getClass().equals(head.data.getClass()))
+        if(index < 0)
+            index = 0;
+        if(index >= size)
             return -1;
 
-        Node current = head; 
-        int counter = 0;
+        //the first of the elements that compare equal to o, and its position
+        int[] positions = new int[levels];
+        Node current = findPredecessors(element, null, positions);
+        int current_position = positions[0] + 1;
 
-        for(int i = 0; i < index; i++){
-            current = current.next;
-            counter++;
+        //the search starts at index if that is further along
+        if(current_position <= index){
+            current = nodeAt(index + 1);
+            current_position = index + 1;
         }
-    
-        while(current != null){
+
+        //only the elements that compare equal to o can be equal to it
+        while(current != null && current.data.compareTo(element) == 0){
             if(current.data.equals(o))
-                return counter;
-            current = current.next;
-            counter++;
+                return current_position - 1;
+            current = current.next[0];
+            current_position++;
         }
 
         return -1;
@@ -268,41 +372,51 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
 
     public boolean remove(Object o)
     {
-        if (o == null)
-            return false;
-        
-        if(this.size() == 0)
-            return false;
-        
-        if(!o.getClass().equals(head.data.getClass()))
+        E element = asElement(o);
+        if(element == null)
             return false;
 
-        Node current = head; 
+        Node current = findPredecessors(element, update, position);
 
-        while(current != null){
+        //the predecessors are moved along the elements that compare equal to o
+        //until one of them is equal to it
+        while(current != null && current.data.compareTo(element) == 0){
             if(current.data.equals(o)){
-                if(current == head){
-                    head = head.next;
-                    head.prev = null;
-                    size--;
-                }
-                else if(current == tail){ 
-                    tail = tail.prev;
-                    tail.next = null;
-                    size--;
-                }
-                else {
-                    current.prev.next = current.next; 
-                    current.next.prev = current.prev;
-                    size--;
-                }
-                return true; 
+                unlink(current, update);
+                return true;
             }
-            current = current.next;
+            for(int level = 0; level < current.next.length; level++)
+                update[level] = current;
+            current = current.next[0];
         }
         return false;
     }
 
+    /**
+     * Removes the given node from every level it is on, given the last node
+     * before it on each level.
+     *
+     * @param node the node to be removed
+     * @param update the last node before node on each level in use
+     */
+    private void unlink(Node node, Node[] update)
+    {
+        for(int level = 0; level < levels; level++){
+            if(update[level].next[level] == node){
+                update[level].span[level] += node.span[level] - 1;
+                update[level].next[level] = node.next[level];
+                if(last[level] == node)
+                    last[level] = update[level];
+            }
+            else
+                update[level].span[level]--;
+        }
+
+        while(levels > 1 && header.next[levels - 1] == null)
+            levels--;
+        size--;
+    }
+
      /**
      * Returns a string representation of the list.
      *  The string representation consists of a list of the lists's elements in
@@ -315,18 +429,17 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
     @Override
     public String toString()
     {
-        String toReturn = "[";
+        StringBuilder toReturn = new StringBuilder("[");
 
-        Node current = head;
+        Node current = header.next[0];
 
         while(current != null){
-            if(current.next != null)
-                toReturn += current.data + ", ";
-            else 
-                toReturn += current.data; 
-            current = current.next;
+            toReturn.append(current.data);
+            if(current.next[0] != null)
+                toReturn.append(", ");
+            current = current.next[0];
         }
-        return toReturn + "]";
+        return toReturn.append("]").toString();
     }
 
      /**
@@ -337,30 +450,28 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
      * false otherwise
      */
     @SuppressWarnings("unchecked")
-    public boolean equals(Object o) 
+    public boolean equals(Object o)
     {
         if(o == null)
             return false;
 
         if(!o.getClass().equals(this.getClass()))
             return false;
-        
+
         if(this.size() != ((SortedLinkedList)o).size())
             return false;
 
         if(o == this)
             return true;
-        
-        Node cur1 = this.head;
-        Node cur2 = ((SortedLinkedList)o).head;
 
-        while(cur1 != null && cur2 != null){
-            if(!cur1.data.equals(cur2.data))
+        Iterator<E> itr1 = this.iterator();
+        Iterator<Object> itr2 = ((SortedLinkedList)o).iterator();
+
+        while(itr1.hasNext() && itr2.hasNext()){
+            if(!itr1.next().equals(itr2.next()))
                 return false;
-            cur1 = cur1.next;
-            cur2 = cur2.next;
         }
-        if(cur1 == null && cur2 == null)
+        if(!itr1.hasNext() && !itr2.hasNext())
             return true;
         else
             return false;
@@ -368,9 +479,9 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
 
     //ITERATORS
    /* A basic forward iterator for this list. */
-    private class ListIterator implements Iterator<E> 
+    private class ListIterator implements Iterator<E>
     {
-        Node nextToReturn = head;
+        Node nextToReturn = header.next[0];
 
         @Override
         public boolean hasNext() {
@@ -382,7 +493,7 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
             if (nextToReturn == null)
                 throw new NoSuchElementException("End of the list reached.");
             E tmp = nextToReturn.data;
-            nextToReturn = nextToReturn.next; 
+            nextToReturn = nextToReturn.next[0];
             return tmp;
         }
     }
@@ -392,7 +503,7 @@ public class SortedLinkedList<E extends Comparable<E>> implements Iterable<E>
      *
      * @return an iterator over the elements in the list
      */
-    public Iterator<E> iterator() 
+    public Iterator<E> iterator()
     {
         return new ListIterator();
     }
@@ -1,6 +1,6 @@
 package project5;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -12,7 +12,7 @@ import java.util.NoSuchElementException;
  * @version December 2, 2023
  *
  */
-public class BSTIndex implements Index, Iterable<Word> 
+public class BSTIndex implements PrunableIndex, MergeableIndex, RangeIndex, MeasurableIndex, Iterable<Word> 
 {
     //Inner class to represent nodes of this tree 
     private class Node implements Comparable<Node> 
@@ -27,6 +27,12 @@ public class BSTIndex implements Index, Iterable<Word>
             this.data = new Word(word);
         }
 
+        public Node(Word data){
+            if(data == null) 
+                throw new NullPointerException ("Does not allow null."); 
+            this.data = data;
+        }
+
         //implementing the compareTo method of the Comparable interface
         public int compareTo(Node n) {
             return this.data.compareTo(n.data);
@@ -81,8 +87,9 @@ public class BSTIndex implements Index, Iterable<Word>
 
         Node current = root;
         while (current != null){
+            int cmp = word.compareTo(current.data.getWord());
             // if the word is less than the current node, go to the left subtree
-            if (word.compareTo(current.data.getWord()) < 0){ 
+            if (cmp < 0){ 
                 if (current.left == null){
                     current.left = new Node(word);
                     size++; 
@@ -93,7 +100,7 @@ public class BSTIndex implements Index, Iterable<Word>
                 
             }
             // if the word is greater than the current node, go to the right subtree
-            else if(word.compareTo(current.data.getWord()) > 0){
+            else if(cmp > 0){
                 if(current.right == null){
                     current.right = new Node(word);
                     size++;
@@ -187,6 +194,85 @@ public class BSTIndex implements Index, Iterable<Word>
         return node;
     }
     
+    /**
+     * Removes every Word object whose count is smaller than minCount.
+     * 
+     * Instead of removing the words one by one, the tree is traversed in order once
+     * (iteratively, so that a degenerate tree cannot overflow the call stack), the 
+     * Word objects that should remain are collected in an array, and a new, balanced
+     * tree is built from that array. Both steps take O(n) time.
+     * 
+     * @param minCount smallest count of the words that should remain in the tree
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        Word[] remaining = new Word[size];
+        int count = 0;
+
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while(current != null || !stack.isEmpty()){
+            while(current != null){
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if(current.data.getCount() >= minCount)
+                remaining[count++] = current.data;
+            current = current.right;
+        }
+
+        int removed = size - count;
+        root = buildBalanced(remaining, 0, count - 1);
+        size = count;
+        return removed;
+    }
+
+    /**
+     * Adds all the words of other to this tree, adding up the counts of the
+     * words that appear in both. The words of the two indexes are merged in
+     * alphabetical order into an array, from which a new, balanced tree is
+     * built, so the whole operation takes O(n + m) time.
+     * 
+     * @param other index whose words should be added to this tree
+     * @throws IllegalArgumentException if other is null or is this tree
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        if(other.size() == 0)
+            return;
+
+        Word[] merged = MergeableIndex.mergeSorted(this, other);
+        root = buildBalanced(merged, 0, merged.length - 1);
+        size = merged.length;
+    }
+
+    /**
+     * Builds a balanced tree out of the Word objects stored in words[low..high]
+     * which are in sorted order: the middle element becomes the root and
+     * the two halves become its subtrees.
+     * 
+     * @param words sorted array of Word objects
+     * @param low index of the first element of the range
+     * @param high index of the last element of the range
+     * @return the root of the new tree, or null if the range is empty
+     */
+    private Node buildBalanced(Word[] words, int low, int high)
+    {
+        if(low > high)
+            return null;
+
+        int mid = (low + high) >>> 1;
+        Node node = new Node(words[mid]);
+        node.left = buildBalanced(words, low, mid - 1);
+        node.right = buildBalanced(words, mid + 1, high);
+        return node;
+    }
+
     /**
      * Returns the count of the Word object associated with the given string, 
      * or -1 if such a Word object does not exist.
@@ -198,16 +284,70 @@ public class BSTIndex implements Index, Iterable<Word>
     {
         Node current = root;
         while(current != null){
-            if(word.compareTo(current.data.getWord()) < 0)
+            int cmp = word.compareTo(current.data.getWord());
+            if(cmp < 0)
                 current = current.left;
-            else if(word.compareTo(current.data.getWord()) > 0)
+            else if(cmp > 0)
                 current = current.right;
-            else if(word.compareTo(current.data.getWord()) == 0)
+            else
                 return current.data.getCount();
         }
         return -1;
     }
 
+    /**
+     * Returns the number of nodes that get(word) visits: the depth of the node
+     * storing word (the root has depth 1), or the length of the path followed
+     * down the tree if the word is not stored in it.
+     *
+     * @param word the word to search for
+     * @return number of nodes examined by a search for word
+     */
+    public int searchDepth(String word)
+    {
+        int depth = 0;
+        Node current = root;
+        while(current != null){
+            depth++;
+            int cmp = word.compareTo(current.data.getWord());
+            if(cmp < 0)
+                current = current.left;
+            else if(cmp > 0)
+                current = current.right;
+            else
+                break;
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the height of this tree, that is, the number of nodes on the
+     * longest path from the root to a leaf. An empty tree has height 0.
+     * The tree is not balanced, so it is traversed one level at a time
+     * instead of recursively.
+     *
+     * @return the height of this tree
+     */
+    public int height()
+    {
+        int height = 0;
+        ArrayDeque<Node> level = new ArrayDeque<>();
+        if(root != null)
+            level.add(root);
+        while(!level.isEmpty()){
+            height++;
+            //replace the nodes of this level by their children
+            for(int i = level.size(); i > 0; i--){
+                Node node = level.poll();
+                if(node.left != null)
+                    level.add(node.left);
+                if(node.right != null)
+                    level.add(node.right);
+            }
+        }
+        return height;
+    }
+
     /**
      * Returns the number of unique words stored in the index.
      * NOTE: this counts each word only once even it the count associated 
@@ -288,40 +428,94 @@ public class BSTIndex implements Index, Iterable<Word>
 
     /**
      * An iterator class implemented to traverse through the tree in inorder traversal.
-     * It uses an ArrayList to store the elements in the tree in inorder traversal, 
-     * meaning, the elements in this BST is traversed in order and each Word object is added
-     * to the ArrayList when an iterator is instantiated. 
+     * It uses a stack holding the path of nodes whose Word objects are still to be
+     * returned: the leftmost path is pushed when the iterator is instantiated, and
+     * the leftmost path of the right subtree is pushed each time a node is returned.
+     * The first element is therefore available after O(height) steps and the
+     * iterator never stores more than O(height) nodes.
      * 
      * The iterator has three methods: hasNext(), next(), and remove().
      */
     private class TreeIterator implements Iterator<Word> 
     {
-        //private members: an ArrayList to store the elements in the tree in inorder traversal
-        //and two variables to keep track of the current index and the last returned index
-        private ArrayList<Word> arrayList;
-        private int currentIndex;
-        private int lastReturnedIndex;
+        //private members: a stack of nodes still to be visited, the last returned
+        //Word object (to be used by the remove() method) and the word at which
+        //the iteration stops (null if it continues to the end of the tree)
+        private ArrayDeque<Node> stack;
+        private Word lastReturned;
+        private String to;
 
         /*
          * Constructs a new iterator for this tree. 
          */
         public TreeIterator(){
-            arrayList = new ArrayList<>();
-            currentIndex = 0;
-            inorderTraversal(root);
+            stack = new ArrayDeque<>();
+            lastReturned = null;
+            to = null;
+            pushLeftPath(root);
+        }
+
+        /*
+         * Constructs a new iterator over the words of this tree that are at least
+         * from and smaller than to. Either bound may be null.
+         */
+        public TreeIterator(String from, String to){
+            stack = new ArrayDeque<>();
+            lastReturned = null;
+            this.to = to;
+            if(from == null)
+                pushLeftPath(root);
+            else
+                seekFrom(from);
+        }
+
+        /**
+         * Pushes the given node and all of its left descendants onto the stack.
+         * 
+         * @param node the node to start from (begins with the root)
+         */
+        private void pushLeftPath(Node node){
+            while (node != null){
+                stack.push(node);
+                node = node.left;
+            }
         }
 
         /**
-         * Traverses through the tree in inorder traversal and adds each Word object to the 
-         * ArrayList. 
+         * Rebuilds the stack so that the next element returned is the smallest
+         * word in the tree that is larger than the given word. 
          * 
-         * @param node the node to start the traversal from (begins with the root)
+         * @param word the word after which the iteration should continue
          */
-        private void inorderTraversal(Node node){
-            if (node != null){
-                inorderTraversal(node.left);
-                arrayList.add(node.data);
-                inorderTraversal(node.right);
+        private void seekAfter(String word){
+            stack.clear();
+            Node current = root;
+            while (current != null){
+                if (word.compareTo(current.data.getWord()) < 0){
+                    stack.push(current);
+                    current = current.left;
+                }
+                else 
+                    current = current.right;
+            }
+        }
+
+        /**
+         * Rebuilds the stack so that the next element returned is the smallest
+         * word in the tree that is equal to or larger than the given word. 
+         * 
+         * @param word the word at which the iteration should start
+         */
+        private void seekFrom(String word){
+            stack.clear();
+            Node current = root;
+            while (current != null){
+                if (word.compareTo(current.data.getWord()) <= 0){
+                    stack.push(current);
+                    current = current.left;
+                }
+                else 
+                    current = current.right;
             }
         }
 
@@ -330,13 +524,15 @@ public class BSTIndex implements Index, Iterable<Word>
          */
         @Override
         public boolean hasNext(){
-            return currentIndex < arrayList.size();
+            if(stack.isEmpty())
+                return false;
+            return to == null || stack.peek().data.getWord().compareTo(to) < 0;
         }
         
         /**
          * Returns the next element in the iteration and advances the iterator
-         * in the arraylist. 
-         * The variable lastReturnedIndex is used to keep track of the last returned 
+         * to its in-order successor. 
+         * The variable lastReturned is used to keep track of the last returned 
          * element in the iteration to be used in the remove() method.
          * 
          * @throws NoSuchElementException if the iteration has no more elements 
@@ -347,33 +543,31 @@ public class BSTIndex implements Index, Iterable<Word>
             if (!hasNext()) {
                 throw new NoSuchElementException("End of the list reached.");
             }
-            lastReturnedIndex = currentIndex;
-            currentIndex++; 
-            return arrayList.get(lastReturnedIndex);
+            Node current = stack.pop();
+            pushLeftPath(current.right);
+            lastReturned = current.data;
+            return lastReturned;
         }
 
         /**
          * Removes from the underlying collection the last element returned by this iterator.
          * This method can be called only once per call to next(). 
          * 
-         * It uses the lastReturnedIndex variable to remove the element from the ArrayList.
-         * It also removes the Word object from the tree using the remove() method implemented 
-         * above.
+         * It removes the Word object from the tree using the remove() method implemented 
+         * above. Since that method may move Word objects between nodes, the stack is then
+         * rebuilt with a single root-to-leaf descent to the successor of the removed word.
          * 
          * @throws IllegalStateException if the next method has not yet been called meaning the 
          * iterator is at the beginning of the list. 
          */
         public void remove(){
-            if(lastReturnedIndex == -1)
+            if(lastReturned == null)
                 throw new IllegalStateException("Iterator at the beginning of the list.");
             
-            Word word_to_remove = arrayList.get(lastReturnedIndex);
-            arrayList.remove(lastReturnedIndex);
-            BSTIndex.this.remove(word_to_remove.getWord());
-            if (lastReturnedIndex < currentIndex) {
-                currentIndex--;
-            }
-            lastReturnedIndex = -1;
+            String word_to_remove = lastReturned.getWord();
+            BSTIndex.this.remove(word_to_remove);
+            seekAfter(word_to_remove);
+            lastReturned = null;
         }
     }
 
@@ -386,4 +580,18 @@ public class BSTIndex implements Index, Iterable<Word>
     public Iterator<Word> iterator() {
         return new TreeIterator();
     }
+
+    /**
+     * Returns an iterator over the words that are at least from and smaller
+     * than to, in alphabetical order. The iterator descends from the root to
+     * the first such word, so it starts in O(h) time, and stops as soon as
+     * it reaches to.
+     *
+     * @param from smallest word to be returned, or null for no lower bound
+     * @param to   word at which the iteration stops, or null for no upper bound
+     * @return an iterator over the words in the range
+     */
+    public Iterator<Word> range(String from, String to) {
+        return new TreeIterator(RangeIndex.normalizeBound(from), RangeIndex.normalizeBound(to));
+    }
 }
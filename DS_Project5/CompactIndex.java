@@ -0,0 +1,765 @@
+package project5;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is an implementation of a hash table that stores words as bytes and their
+ * counts as primitive ints, without any object per word.
+ * It implements Index interface and Iterable interface.
+ *
+ * All the entries are kept in one large buffer (the arena): each entry is the
+ * count, the length of the word and the UTF-8 bytes of the word. The hash table
+ * itself is a second buffer of int pairs, the offset of an entry in the arena and
+ * the hash code of its word, with collisions resolved by linear probing.
+ * Both buffers can be allocated outside of the Java heap, in which case the
+ * garbage collector never has to walk the vocabulary at all.
+ *
+ * Removed entries leave unused bytes in the arena, which is compacted once they
+ * make up half of it. As in HashIndex, the words are only sorted when an iterator
+ * is requested, and even then only the offsets of the entries are sorted: a Word
+ * object is created for one word at a time, as the iterator reaches it.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class CompactIndex implements PrunableIndex, MergeableIndex, Iterable<Word>
+{
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_ARENA = 16 * 1024;
+    //bytes taken by the count and the length stored in front of every word
+    private static final int HEADER = 8;
+    //bytes taken by one slot of the table: offset of the entry plus one, and hash
+    private static final int SLOT = 8;
+
+    //private members: the two buffers, the number of slots in the table,
+    //the end of the used part of the arena and how much of it is unused,
+    //the number of words, a reusable array for encoding words and the number
+    //of times the entries have been moved to a new arena
+    private final boolean offHeap;
+    private ByteBuffer table;
+    private int slots;
+    private ByteBuffer arena;
+    private int arenaEnd;
+    private int garbage;
+    private int size;
+    private byte[] scratch = new byte[64];
+    private int rebuilds;
+
+    /**
+     * Constructs a new empty table stored on the Java heap.
+     */
+    public CompactIndex()
+    {
+        this(false);
+    }
+
+    /**
+     * Constructs a new empty table.
+     *
+     * @param offHeap true if the table should be stored outside of the Java heap
+     */
+    public CompactIndex(boolean offHeap)
+    {
+        this.offHeap = offHeap;
+        slots = INITIAL_SLOTS;
+        table = allocate(slots * SLOT);
+        arena = allocate(INITIAL_ARENA);
+        arenaEnd = 0;
+        garbage = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns true if this table is stored outside of the Java heap.
+     *
+     * @return true if the table is stored outside of the Java heap
+     */
+    public boolean isOffHeap()
+    {
+        return offHeap;
+    }
+
+    /**
+     * Adds an item to the index. If the same word already exists, its count is
+     * incremented by one.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        addEncoded(encode(word.toLowerCase().trim()), 1);
+    }
+
+    /**
+     * Removes an item from the table if it exists, otherwise the table remains
+     * unchanged. This operation removes the word regardless of what the count is.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        int length = encode(word.toLowerCase().trim());
+        if(removeEncoded(length) && garbage > arenaEnd / 2)
+            rebuild(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Removes the word currently in the scratch array from the table, leaving
+     * its bytes in the arena with a count of zero so that iterators skip it.
+     *
+     * @param length number of bytes of the word
+     * @return true if the word was in the table
+     */
+    private boolean removeEncoded(int length)
+    {
+        int slot = findSlot(hash(length), length);
+        int entry = entryAt(slot);
+        if(entry < 0)
+            return false;
+
+        arena.putInt(entry, 0);
+        garbage += HEADER + length;
+        deleteSlot(slot);
+        return true;
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the table.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        int length = encode(word.toLowerCase().trim());
+        int entry = entryAt(findSlot(hash(length), length));
+        if(entry < 0)
+            return -1;
+        return arena.getInt(entry);
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes every word whose count is smaller than minCount.
+     * The remaining entries are copied into a new arena and table in a single
+     * pass, which also reclaims the space of previously removed words.
+     *
+     * @param minCount smallest count of the words that should remain in the table
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        return rebuild(minCount);
+    }
+
+    /**
+     * Adds all the words of other to this table, adding up the counts of the
+     * words that appear in both. When other is a CompactIndex its entries are
+     * copied byte by byte, without creating any String or Word objects.
+     *
+     * @param other index whose words should be added to this table
+     * @throws IllegalArgumentException if other is null or is this table
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        if(other instanceof CompactIndex){
+            CompactIndex table = (CompactIndex) other;
+            for(int slot = 0; slot < table.slots; slot++){
+                int entry = table.entryAt(slot);
+                if(entry < 0)
+                    continue;
+                int length = table.arena.getInt(entry + 4);
+                ensureScratch(length);
+                table.arena.get(entry + HEADER, scratch, 0, length);
+                addEncoded(length, table.arena.getInt(entry));
+            }
+        }
+        else{
+            for(Word word : other)
+                addEncoded(encode(word.getWord()), word.getCount());
+        }
+    }
+
+    private ByteBuffer allocate(int bytes)
+    {
+        return offHeap ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+    }
+
+    /**
+     * Returns the offset of the entry stored in the given slot of the table,
+     * or -1 if the slot is empty.
+     */
+    private int entryAt(int slot)
+    {
+        return table.getInt(slot * SLOT) - 1;
+    }
+
+    private int hashAt(int slot)
+    {
+        return table.getInt(slot * SLOT + 4);
+    }
+
+    private int home(int hash)
+    {
+        return (hash ^ (hash >>> 16)) & (slots - 1);
+    }
+
+    private void ensureScratch(int length)
+    {
+        if(scratch.length < length)
+            scratch = new byte[Math.max(length, 2 * scratch.length)];
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the word into the scratch array.
+     *
+     * @param word the word to be encoded
+     * @return number of bytes written
+     */
+    private int encode(String word)
+    {
+        ensureScratch(3 * word.length());
+        int length = 0;
+        for(int i = 0; i < word.length(); i++){
+            char c = word.charAt(i);
+            if(c < 0x80){
+                scratch[length++] = (byte) c;
+            }
+            else if(c < 0x800){
+                scratch[length++] = (byte) (0xC0 | (c >> 6));
+                scratch[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < word.length()
+                    && Character.isLowSurrogate(word.charAt(i + 1))){
+                int codePoint = Character.toCodePoint(c, word.charAt(++i));
+                scratch[length++] = (byte) (0xF0 | (codePoint >> 18));
+                scratch[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                scratch[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                scratch[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            }
+            else if(Character.isSurrogate(c)){
+                //unpaired surrogates are replaced as in String.getBytes()
+                scratch[length++] = (byte) '?';
+            }
+            else{
+                scratch[length++] = (byte) (0xE0 | (c >> 12));
+                scratch[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                scratch[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return length;
+    }
+
+    private int hash(int length)
+    {
+        int h = 0;
+        for(int i = 0; i < length; i++)
+            h = 31 * h + scratch[i];
+        return h;
+    }
+
+    /**
+     * Returns the slot holding the word currently in the scratch array, or the
+     * empty slot at which the probe sequence for that word ends.
+     *
+     * @param hash hash code of the word
+     * @param length number of bytes of the word
+     * @return index of the matching or first empty slot
+     */
+    private int findSlot(int hash, int length)
+    {
+        int slot = home(hash);
+        while(true){
+            int entry = entryAt(slot);
+            if(entry < 0)
+                return slot;
+            if(hashAt(slot) == hash && matches(entry, length))
+                return slot;
+            slot = (slot + 1) & (slots - 1);
+        }
+    }
+
+    /**
+     * Checks if the entry at the given offset holds the word currently
+     * in the scratch array.
+     */
+    private boolean matches(int entry, int length)
+    {
+        if(arena.getInt(entry + 4) != length)
+            return false;
+        for(int i = 0; i < length; i++){
+            if(arena.get(entry + HEADER + i) != scratch[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Increases the count of the word currently in the scratch array by amount,
+     * appending a new entry to the arena if the word is not in the table.
+     *
+     * @param length number of bytes of the word
+     * @param amount the number to be added to its count
+     */
+    private void addEncoded(int length, int amount)
+    {
+        int hash = hash(length);
+        int slot = findSlot(hash, length);
+        int entry = entryAt(slot);
+        if(entry >= 0){
+            arena.putInt(entry, arena.getInt(entry) + amount);
+            return;
+        }
+
+        ensureArena(HEADER + length);
+        entry = arenaEnd;
+        arena.putInt(entry, amount);
+        arena.putInt(entry + 4, length);
+        arena.put(entry + HEADER, scratch, 0, length);
+        arenaEnd += HEADER + length;
+
+        table.putInt(slot * SLOT, entry + 1);
+        table.putInt(slot * SLOT + 4, hash);
+        size++;
+
+        if(2 * size > slots)
+            resizeTable(2 * slots);
+    }
+
+    /**
+     * Makes sure that the given number of bytes can be appended to the arena,
+     * moving it to a buffer twice as large if needed.
+     *
+     * @param extra number of bytes to be appended
+     * @throws IllegalStateException if the arena would exceed the largest buffer size
+     */
+    private void ensureArena(int extra)
+    {
+        if((long) arenaEnd + extra <= arena.capacity())
+            return;
+
+        long capacity = Math.max(2L * arena.capacity(), (long) arenaEnd + extra);
+        if(capacity > Integer.MAX_VALUE - 8){
+            if((long) arenaEnd + extra > Integer.MAX_VALUE - 8)
+                throw new IllegalStateException("Index cannot hold more words.");
+            capacity = Integer.MAX_VALUE - 8;
+        }
+
+        ByteBuffer larger = allocate((int) capacity);
+        ByteBuffer used = arena.duplicate();
+        used.position(0).limit(arenaEnd);
+        larger.put(used);
+        arena = larger;
+    }
+
+    /**
+     * Moves all the slots into a new table with the given number of slots.
+     * The stored hash codes are reused, so no word has to be compared.
+     *
+     * @param capacity new number of slots, a power of two
+     */
+    private void resizeTable(int capacity)
+    {
+        ByteBuffer old_table = table;
+        int old_slots = slots;
+        table = allocate(capacity * SLOT);
+        slots = capacity;
+
+        for(int slot = 0; slot < old_slots; slot++){
+            int entry = old_table.getInt(slot * SLOT) - 1;
+            if(entry >= 0)
+                insertSlot(entry, old_table.getInt(slot * SLOT + 4));
+        }
+    }
+
+    /**
+     * Stores an entry known not to be in the table in the first free slot
+     * of its probe sequence.
+     */
+    private void insertSlot(int entry, int hash)
+    {
+        int slot = home(hash);
+        while(entryAt(slot) >= 0)
+            slot = (slot + 1) & (slots - 1);
+        table.putInt(slot * SLOT, entry + 1);
+        table.putInt(slot * SLOT + 4, hash);
+    }
+
+    /**
+     * Empties the given slot and shifts back any slots further along the
+     * probe sequence that would otherwise become unreachable.
+     *
+     * @param slot index of the slot to be emptied
+     */
+    private void deleteSlot(int slot)
+    {
+        int mask = slots - 1;
+        int next = (slot + 1) & mask;
+        while(entryAt(next) >= 0){
+            int home = home(hashAt(next));
+            // the slot at next can move into slot only if slot lies
+            // (cyclically) between its home slot and next
+            if(((next - home) & mask) >= ((next - slot) & mask)){
+                table.putInt(slot * SLOT, table.getInt(next * SLOT));
+                table.putInt(slot * SLOT + 4, table.getInt(next * SLOT + 4));
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table.putInt(slot * SLOT, 0);
+        table.putInt(slot * SLOT + 4, 0);
+        size--;
+    }
+
+    /**
+     * Copies the entries whose count is at least minCount into a new arena and
+     * table, dropping the others together with any unused bytes.
+     *
+     * @param minCount smallest count of the entries to be kept
+     * @return number of entries that have been dropped
+     */
+    private int rebuild(int minCount)
+    {
+        ByteBuffer old_table = table;
+        ByteBuffer old_arena = arena;
+        int old_slots = slots;
+
+        table = allocate(old_slots * SLOT);
+        arena = allocate(Math.max(INITIAL_ARENA, arenaEnd - garbage));
+        arenaEnd = 0;
+        garbage = 0;
+        rebuilds++;
+
+        int removed = 0;
+        for(int slot = 0; slot < old_slots; slot++){
+            int entry = old_table.getInt(slot * SLOT) - 1;
+            if(entry < 0)
+                continue;
+            if(old_arena.getInt(entry) < minCount){
+                removed++;
+                continue;
+            }
+
+            int bytes = HEADER + old_arena.getInt(entry + 4);
+            ByteBuffer source = old_arena.duplicate();
+            source.position(entry).limit(entry + bytes);
+            arena.put(arenaEnd, source, entry, bytes);
+            insertSlot(arenaEnd, old_table.getInt(slot * SLOT + 4));
+            arenaEnd += bytes;
+        }
+
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Returns the word of the entry at the given offset.
+     */
+    private String wordAt(int entry)
+    {
+        int length = arena.getInt(entry + 4);
+        byte[] bytes = new byte[length];
+        arena.get(entry + HEADER, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compares the words of the entries at the given offsets in the same order
+     * as String.compareTo() would, decoding them from the arena one character
+     * at a time instead of creating String objects.
+     *
+     * @return a negative integer, zero, or a positive integer as the first word
+     *         is less than, equal to, or greater than the second word
+     */
+    private int compareEntries(int first, int second)
+    {
+        int i = first + HEADER;
+        int i_end = i + arena.getInt(first + 4);
+        int j = second + HEADER;
+        int j_end = j + arena.getInt(second + 4);
+
+        while(i < i_end && j < j_end){
+            int c1 = codePointAt(i);
+            int c2 = codePointAt(j);
+            if(c1 != c2){
+                // String.compareTo() compares UTF-16 chars, in which a code point
+                // above U+FFFF is a pair of surrogates
+                char h1 = Character.highSurrogate(c1);
+                char h2 = Character.highSurrogate(c2);
+                if(Character.isBmpCodePoint(c1))
+                    h1 = (char) c1;
+                if(Character.isBmpCodePoint(c2))
+                    h2 = (char) c2;
+                if(h1 != h2)
+                    return h1 - h2;
+                return Character.lowSurrogate(c1) - Character.lowSurrogate(c2);
+            }
+            // equal code points are encoded with the same number of bytes
+            i += utf8Length(arena.get(i));
+            j += utf8Length(arena.get(j));
+        }
+        return (i < i_end ? 1 : 0) - (j < j_end ? 1 : 0);
+    }
+
+    /**
+     * Returns the number of bytes of the UTF-8 sequence starting with the given byte.
+     */
+    private static int utf8Length(byte first)
+    {
+        if((first & 0x80) == 0)
+            return 1;
+        if((first & 0xE0) == 0xC0)
+            return 2;
+        if((first & 0xF0) == 0xE0)
+            return 3;
+        return 4;
+    }
+
+    /**
+     * Decodes the code point whose UTF-8 sequence starts at the given offset
+     * of the arena (the words are encoded by encode(), so it is well formed).
+     */
+    private int codePointAt(int offset)
+    {
+        int first = arena.get(offset) & 0xFF;
+        switch(utf8Length((byte) first)){
+            case 1:
+                return first;
+            case 2:
+                return ((first & 0x1F) << 6) | (arena.get(offset + 1) & 0x3F);
+            case 3:
+                return ((first & 0x0F) << 12) | ((arena.get(offset + 1) & 0x3F) << 6)
+                       | (arena.get(offset + 2) & 0x3F);
+            default:
+                return ((first & 0x07) << 18) | ((arena.get(offset + 1) & 0x3F) << 12)
+                       | ((arena.get(offset + 2) & 0x3F) << 6) | (arena.get(offset + 3) & 0x3F);
+        }
+    }
+
+    /**
+     * Sorts the entries between from (inclusive) and to (exclusive) in the
+     * alphabetical order of their words with a merge sort, using buffer (of
+     * the same length as entries) as temporary storage.
+     */
+    private void sortEntries(int[] entries, int[] buffer, int from, int to)
+    {
+        if(to - from < 2)
+            return;
+        int mid = (from + to) >>> 1;
+        sortEntries(entries, buffer, from, mid);
+        sortEntries(entries, buffer, mid, to);
+        if(compareEntries(entries[mid - 1], entries[mid]) <= 0)
+            return;
+
+        System.arraycopy(entries, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for(int k = from; k < to; k++){
+            if(j >= to || (i < mid && compareEntries(buffer[i], buffer[j]) <= 0))
+                entries[k] = buffer[i++];
+            else
+                entries[k] = buffer[j++];
+        }
+    }
+
+    /**
+     * Returns a string representation of this table in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this table
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this table with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this table
+     * @return true if the specified object is equal to this table, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> table_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(table_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = table_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * An iterator class that returns the words of the table in alphabetical order.
+     * On construction it sorts the offsets of the entries in the arena, without
+     * decoding any word into a String; each Word object is created by next(),
+     * with the count the word has at that moment. Words added afterwards are not
+     * seen by the iterator and words removed since then are skipped.
+     * Removing words through remove() never moves the entries; if pruneBelow()
+     * or compacting the arena moves them during the iteration, the iterator
+     * throws ConcurrentModificationException.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove().
+     */
+    private class SnapshotIterator implements Iterator<Word>
+    {
+        private int[] sorted;
+        private int currentIndex;
+        private int lastReturned;
+        private final int expectedRebuilds;
+
+        /*
+         * Constructs a new iterator over the sorted offsets of the entries in the table.
+         */
+        public SnapshotIterator(){
+            sorted = new int[size];
+            int i = 0;
+            for(int slot = 0; slot < slots; slot++){
+                int entry = entryAt(slot);
+                if(entry >= 0)
+                    sorted[i++] = entry;
+            }
+            sortEntries(sorted, new int[sorted.length], 0, sorted.length);
+            currentIndex = 0;
+            lastReturned = -1;
+            expectedRebuilds = rebuilds;
+        }
+
+        private void checkForRebuild(){
+            if(rebuilds != expectedRebuilds)
+                throw new ConcurrentModificationException("The entries of the table have been moved.");
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         *
+         * @throws ConcurrentModificationException if the entries have been moved
+         */
+        @Override
+        public boolean hasNext(){
+            checkForRebuild();
+            //removed entries have a count of zero
+            while(currentIndex < sorted.length && arena.getInt(sorted[currentIndex]) == 0)
+                currentIndex++;
+            return currentIndex < sorted.length;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @throws ConcurrentModificationException if the entries have been moved
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            if (!hasNext())
+                throw new NoSuchElementException("End of the list reached.");
+            lastReturned = sorted[currentIndex++];
+            return new Word(wordAt(lastReturned), arena.getInt(lastReturned));
+        }
+
+        /**
+         * Removes from the underlying table the last element returned by this iterator.
+         * This method can be called only once per call to next(). The arena is not
+         * compacted, so that the iteration can go on.
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         * @throws ConcurrentModificationException if the entries have been moved
+         */
+        @Override
+        public void remove(){
+            if(lastReturned < 0)
+                throw new IllegalStateException("next() has not been called yet.");
+            checkForRebuild();
+
+            //the word may have been removed already, in which case nothing is done
+            int length = arena.getInt(lastReturned + 4);
+            ensureScratch(length);
+            arena.get(lastReturned + HEADER, scratch, 0, length);
+            if(arena.getInt(lastReturned) != 0)
+                removeEncoded(length);
+            lastReturned = -1;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the table in alphabetical order.
+     *
+     * @return an iterator over the elements in the table
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new SnapshotIterator();
+    }
+}
@@ -0,0 +1,337 @@
+package project5;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is a thread-safe implementation of the Index interface backed by a
+ * concurrent skip list. It implements Index interface and Iterable interface.
+ *
+ * Many threads may call add(), get(), remove(), merge() and pruneBelow() on
+ * the same object at the same time without any locking: each word is mapped
+ * to an atomic counter, so no increment is ever lost. The iterator returns the
+ * words in alphabetical order and is weakly consistent: it never throws
+ * ConcurrentModificationException and reflects some, but not necessarily all,
+ * of the changes made after it was created. It never returns a word with a
+ * count of zero.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class ConcurrentIndex implements PrunableIndex, MergeableIndex, Iterable<Word>
+{
+    //private members: the map from each word to its count, and the number of
+    //words in the map (the size of the skip list itself takes O(n) time to compute);
+    //a count of zero marks a word that pruneBelow() is removing from the map
+    private final ConcurrentSkipListMap<String, AtomicInteger> map;
+    private final AtomicInteger size;
+
+    /**
+     * Constructs a new empty index.
+     */
+    public ConcurrentIndex()
+    {
+        map = new ConcurrentSkipListMap<>();
+        size = new AtomicInteger(0);
+    }
+
+    /**
+     * Adds an item to the index in sorted order. If the same word already exists,
+     * its count is incremented by one. This method may be called by many threads
+     * at the same time.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        addCount(word.toLowerCase().trim(), 1);
+    }
+
+    /**
+     * Increases the count of the given (already normalized) word by amount,
+     * inserting the word first if it is not in the index.
+     * A new counter is published already holding amount, so that other threads
+     * never see a word with a count of zero. A counter that pruneBelow() has
+     * set to zero is never incremented: the word is inserted again instead, so
+     * the increment cannot be lost with the removed counter.
+     *
+     * @param word the word to be counted
+     * @param amount the number to be added to its count
+     */
+    private void addCount(String word, int amount)
+    {
+        while(true){
+            AtomicInteger count = map.get(word);
+            if(count == null){
+                count = map.putIfAbsent(word, new AtomicInteger(amount));
+                // no other thread has inserted the word in the meantime
+                if(count == null){
+                    size.incrementAndGet();
+                    return;
+                }
+            }
+
+            int current = count.get();
+            if(current == 0){
+                // the word is being pruned: finish removing it and try again
+                removeEntry(word, count);
+                continue;
+            }
+            if(count.compareAndSet(current, current + amount))
+                return;
+        }
+    }
+
+    /**
+     * Removes the word from the map if it is still mapped to the given counter.
+     * The size is decremented only by the thread that actually removes it.
+     */
+    private void removeEntry(String word, AtomicInteger count)
+    {
+        if(map.remove(word, count))
+            size.decrementAndGet();
+    }
+
+    /**
+     * Removes an item from the index if it exists, otherwise the index remains
+     * unchanged. This operation removes the word regardless of what the count is.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        String key = word.toLowerCase().trim();
+        AtomicInteger count = map.get(key);
+        if(count != null){
+            // later increments of this word insert it again instead of being lost
+            count.set(0);
+            removeEntry(key, count);
+        }
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the index.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        AtomicInteger count = map.get(word.toLowerCase().trim());
+        if(count == null)
+            return -1;
+        // the counter is read once: another thread may set it to zero at any time
+        int current = count.get();
+        return (current == 0) ? -1 : current;
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size.get();
+    }
+
+    /**
+     * Removes every word whose count is smaller than minCount.
+     * The words are visited once in alphabetical order.
+     *
+     * This may run while other threads add words. A word is removed only if
+     * its count is smaller than minCount at the moment it is removed, and
+     * exactly the increments made up to that moment are removed with it: an
+     * increment made afterwards inserts the word again with that count. A word
+     * that is incremented while it is visited is either removed or kept with
+     * every increment; which one depends on which thread gets there first.
+     *
+     * @param minCount smallest count of the words that should remain in the index
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        int removed = 0;
+        for(Map.Entry<String, AtomicInteger> entry : map.entrySet()){
+            AtomicInteger count = entry.getValue();
+            // setting the count to zero stops any further increments of this counter
+            int current = count.get();
+            while(current > 0 && current < minCount && !count.compareAndSet(current, 0))
+                current = count.get();
+            if(current > 0 && current < minCount){
+                removeEntry(entry.getKey(), count);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Adds all the words of other to this index, adding up the counts of the
+     * words that appear in both.
+     *
+     * @param other index whose words should be added to this index
+     * @throws IllegalArgumentException if other is null or is this index
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        for(Word word : other)
+            addCount(word.getWord(), word.getCount());
+    }
+
+    /**
+     * Returns a string representation of this index in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this index
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this index with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this index
+     * @return true if the specified object is equal to this index, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> this_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(this_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = this_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * A weakly consistent iterator over the words of the index in alphabetical order.
+     * Each Word object holds the count of the word at the time hasNext() or
+     * next() reached it; words that are being pruned are skipped.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove().
+     */
+    private class MapIterator implements Iterator<Word>
+    {
+        private Iterator<Map.Entry<String, AtomicInteger>> entries = map.entrySet().iterator();
+        private Word nextToReturn = null;
+        private String lastReturned = null;
+
+        /**
+         * Returns true if the iteration has more elements.
+         */
+        @Override
+        public boolean hasNext(){
+            while(nextToReturn == null && entries.hasNext()){
+                Map.Entry<String, AtomicInteger> entry = entries.next();
+                int count = entry.getValue().get();
+                if(count > 0)
+                    nextToReturn = new Word(entry.getKey(), count);
+            }
+            return nextToReturn != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            if (!hasNext())
+                throw new NoSuchElementException("End of the list reached.");
+            Word word = nextToReturn;
+            nextToReturn = null;
+            lastReturned = word.getWord();
+            return word;
+        }
+
+        /**
+         * Removes from the underlying index the last element returned by this iterator.
+         * This method can be called only once per call to next().
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         */
+        @Override
+        public void remove(){
+            if(lastReturned == null)
+                throw new IllegalStateException("next() has not been called yet.");
+
+            ConcurrentIndex.this.remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the index in alphabetical order.
+     *
+     * @return an iterator over the elements in the index
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new MapIterator();
+    }
+}
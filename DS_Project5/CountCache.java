@@ -0,0 +1,129 @@
+package project5;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A directory of word counts saved by MappedIndex.save(), one file per counted
+ * input file. The name of each saved file contains the name of the input file,
+ * a hash of its full path, its modification time and its length, so a change
+ * to the input file makes its old counts unreachable; they are deleted as soon
+ * as the new counts are stored.
+ *
+ * The words found in a file also depend on how it is read: the default charset
+ * used to decode it, and whether it is read by Scanner or by the memory-mapped
+ * tokenizer (the two differ for a file that is not valid in the charset). Both
+ * are part of the name as well, so counts saved under other settings are never
+ * loaded; they are kept for the runs that use those settings.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class CountCache
+{
+    private static final String SUFFIX = ".idx";
+
+    //private members: the cache directory, and the charset and reader with
+    //which the files are read, as they appear in the names of the saved files
+    private final File directory;
+    private final String settings;
+
+    /**
+     * Creates a cache stored in the given directory, creating the directory
+     * if it does not exist, for files decoded with the default charset.
+     *
+     * @param directory directory in which the counts are saved
+     * @param mapped    true if the files are read through the memory-mapped
+     *                  tokenizer, false if they are read by Scanner
+     * @throws IOException if the directory cannot be created
+     */
+    public CountCache(File directory, boolean mapped) throws IOException
+    {
+        if(!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Cannot create cache directory " + directory);
+        this.directory = directory;
+        this.settings = Charset.defaultCharset().name() + (mapped ? "-mapped-" : "-scanner-");
+    }
+
+    /**
+     * Returns the directory in which the counts are saved.
+     *
+     * @return the cache directory
+     */
+    public File getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns the file in which the counts of the given input file are saved,
+     * based on the current modification time and length of the input file and
+     * on the way this cache reads it.
+     * The returned file does not have to exist. It should be obtained before the
+     * input file is read, so that a change made while reading is noticed by
+     * the next run.
+     *
+     * @param file input file
+     * @return the cache file for the current version of file
+     * @throws IOException if the full path of file cannot be determined
+     */
+    public File entryFor(File file) throws IOException
+    {
+        return new File(directory, prefix(file) + file.lastModified() + "-" + file.length() + SUFFIX);
+    }
+
+    /**
+     * Returns the counts saved in the given cache file, or null if there are none.
+     *
+     * @param entry a file returned by entryFor()
+     * @return the saved counts, or null if entry does not exist
+     * @throws IOException if entry exists but cannot be read
+     */
+    public Index load(File entry) throws IOException
+    {
+        if(!entry.isFile())
+            return null;
+        return new MappedIndex(entry.getPath());
+    }
+
+    /**
+     * Saves counts in the given cache file and deletes the counts saved for
+     * earlier versions of the same input file under the same settings. The counts are written to a
+     * temporary file first, so that an interrupted run never leaves an
+     * incomplete cache file behind.
+     *
+     * @param file input file whose words have been counted
+     * @param entry the file returned by entryFor(file) before file was read
+     * @param counts the counts of the words of file
+     * @throws IOException if the counts cannot be saved
+     */
+    public void store(File file, File entry, Index counts) throws IOException
+    {
+        File temporary = new File(directory, entry.getName() + ".tmp");
+        MappedIndex.save(counts, temporary.getPath());
+        Files.move(temporary.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+
+        String prefix = prefix(file);
+        File[] saved = directory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(SUFFIX));
+        if(saved == null)
+            return;
+        for(File old : saved){
+            if(!old.getName().equals(entry.getName()))
+                old.delete();
+        }
+    }
+
+    /**
+     * Returns the part of the cache file names shared by all versions of file
+     * read with the settings of this cache.
+     */
+    private String prefix(File file) throws IOException
+    {
+        return file.getName() + "-" + Integer.toHexString(file.getCanonicalPath().hashCode()) + "-"
+               + settings;
+    }
+}
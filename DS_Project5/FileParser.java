@@ -7,8 +7,19 @@ package project5;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 /**
  * FileParser class is used for parsing text files and retrieving lists of
@@ -20,7 +31,13 @@ import java.util.Scanner;
  */
 public class FileParser {
 
+    // size of the file region mapped into memory at one time
+    private static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+    // number of characters decoded from the mapped region at one time
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+
     private Scanner input;
+    private File file;
 
     /**
      * Creates FileParser object given a string containing the name of the input
@@ -41,6 +58,7 @@ public class FileParser {
                                       "File: %s  cannot be accessed for reading.", fileName));
         // connect to the file using Scanner
         input = new Scanner(f);
+        file = f;
 
     }
 
@@ -54,17 +72,260 @@ public class FileParser {
     public ArrayList<String> getAllWords() {
         // create a new list to store all the words
         ArrayList<String> listOfWords = new ArrayList<String>(5000);
+        forEachWord(listOfWords::add);
+        return listOfWords;
+    }
 
+    /**
+     * Passes every word from the input file to action as soon as it is read,
+     * without storing the words. The words are the same, and come in the same
+     * order, as the ones returned by getAllWords().
+     *
+     * @param action the operation to perform on each word
+     */
+    public void forEachWord(Consumer<String> action) {
         while (input.hasNext()) {
             String nextWord = input.next();
             nextWord = stripNonLetters(nextWord.toLowerCase());
             if (nextWord.length() != 0)
-                listOfWords.add(nextWord);
+                action.accept(nextWord);
         }
+    }
 
+    /**
+     * Retrieves list of all words from the input file without using Scanner.
+     * The file is memory-mapped and decoded in large blocks, and words are
+     * split and cleaned in a single pass over the decoded characters, so the
+     * only object created per word is the resulting String.
+     * The words are the same as the ones returned by getAllWords() as long as
+     * the file is valid in the default charset. Bytes that are not are replaced
+     * and decoding goes on, whereas Scanner stops reading at them, so for such
+     * a file this may return words that getAllWords() does not.
+     *
+     * @return an array list containing all words from the input file with which the
+     *         File Parser object has been created only alphabetic characters are
+     *         included in the words
+     * @throws IOException if the input file cannot be read
+     */
+    public ArrayList<String> getAllWordsMapped() throws IOException {
+        ArrayList<String> listOfWords = new ArrayList<String>(5000);
+        forEachWordMapped(listOfWords::add);
         return listOfWords;
     }
 
+    /**
+     * Maps the input file into memory one region at a time, decodes it using
+     * the default charset (the one used by Scanner) and passes every word
+     * found to action as soon as it is read, without storing the words.
+     *
+     * @param action the operation to perform on each word
+     * @throws IOException if the input file cannot be read
+     */
+    public void forEachWordMapped(Consumer<String> action) throws IOException {
+        forEachWordMapped(0, file.length(), action);
+    }
+
+    /**
+     * Passes every word found between the byte offsets from (inclusive) and
+     * to (exclusive) of the input file to action. The offsets should come from
+     * splitPoints() so that no word is cut in two; the words of all the parts
+     * taken in order are then the same as the words of the whole file.
+     * The parts can be processed by different threads at the same time.
+     *
+     * @param from   offset of the first byte to be read
+     * @param to     offset one past the last byte to be read
+     * @param action the operation to perform on each word
+     * @throws IOException if the input file cannot be read
+     */
+    public void forEachWordMapped(long from, long to, Consumer<String> action) throws IOException {
+        CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                                 .onMalformedInput(CodingErrorAction.REPLACE)
+                                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        Tokenizer tokenizer = new Tokenizer(action);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long end = Math.min(to, channel.size());
+            long position = Math.min(from, end);
+            boolean endOfInput = false;
+
+            while (!endOfInput) {
+                long length = Math.min(MAP_CHUNK_SIZE, end - position);
+                endOfInput = position + length == end;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                CoderResult result;
+                do {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    chars.flip();
+                    tokenizer.accept(chars);
+                    chars.clear();
+                } while (result.isOverflow());
+
+                // bytes of a character split between two regions are left
+                // unconsumed and mapped again at the start of the next region
+                position += bytes.position();
+            }
+
+            decoder.flush(chars);
+            chars.flip();
+            tokenizer.accept(chars);
+            tokenizer.finish();
+        }
+    }
+
+    /**
+     * Divides the input file into about the given number of parts of similar size
+     * that can be parsed independently with forEachWordMapped(from, to, action).
+     * Each part ends just before an ASCII white space byte, which in the charsets
+     * that extend ASCII (such as UTF-8 or ISO-8859-1) is always a word boundary.
+     * For other charsets the whole file is returned as a single part.
+     *
+     * @param parts requested number of parts
+     * @return offsets of the parts: part i starts at result[i] and ends
+     *         before result[i + 1]; the first offset is 0 and the last one is
+     *         the size of the file
+     * @throws IOException if the input file cannot be read
+     */
+    public long[] splitPoints(int parts) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (parts < 2 || !extendsAscii(Charset.defaultCharset()))
+                return new long[] { 0, fileSize };
+
+            long[] points = new long[parts + 1];
+            int count = 1;
+            ByteBuffer bytes = ByteBuffer.allocate(4096);
+
+            for (int i = 1; i < parts; i++) {
+                long position = Math.max(fileSize / parts * i, points[count - 1]);
+                // move forward to the next white space byte
+                boolean found = false;
+                while (!found && position < fileSize) {
+                    bytes.clear();
+                    int read = channel.read(bytes, position);
+                    if (read <= 0)
+                        break;
+                    for (int j = 0; j < read && !found; j++) {
+                        if (isAsciiWhitespace(bytes.get(j)))
+                            found = true;
+                        else
+                            position++;
+                    }
+                }
+                if (position >= fileSize)
+                    break;
+                if (position > points[count - 1])
+                    points[count++] = position;
+            }
+
+            points[count++] = fileSize;
+            return Arrays.copyOf(points, count);
+        }
+    }
+
+    /**
+     * Checks if the charset encodes the ASCII white space characters as single
+     * bytes with their ASCII values, which is what splitPoints() relies on.
+     */
+    private static boolean extendsAscii(Charset charset) {
+        String whitespace = " \t\n\r\f";
+        byte[] encoded = whitespace.getBytes(charset);
+        if (encoded.length != whitespace.length())
+            return false;
+        for (int i = 0; i < encoded.length; i++) {
+            if (encoded[i] != whitespace.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the byte is one of the ASCII characters for which
+     * Character.isWhitespace() returns true.
+     */
+    private static boolean isAsciiWhitespace(byte b) {
+        return b == ' ' || (b >= 0x09 && b <= 0x0D) || (b >= 0x1C && b <= 0x1F);
+    }
+
+    /**
+     * Splits decoded characters into words using the same rules as
+     * getAllWords() and stripNonLetters(): words are separated by white space,
+     * only alphabetic characters are kept (in lower case) and everything from
+     * the first apostrophe to the end of the token is ignored.
+     * Tokens made of ASCII characters only are cleaned in place in a reused
+     * character array. Any other token goes through String.toLowerCase() and
+     * stripNonLetters() exactly as in getAllWords(), since lower-casing some
+     * letters (for example the Greek final sigma) depends on their neighbours.
+     * The state is kept between calls so that a token may span two blocks
+     * of characters.
+     */
+    private class Tokenizer {
+
+        private final Consumer<String> action;
+        private char[] token = new char[64];
+        private int length = 0;
+        private boolean ascii = true;
+
+        Tokenizer(Consumer<String> action) {
+            this.action = action;
+        }
+
+        /**
+         * Processes all the remaining characters in the buffer.
+         *
+         * @param chars block of decoded characters
+         */
+        void accept(CharBuffer chars) {
+            while (chars.hasRemaining()) {
+                char current = chars.get();
+                if (Character.isWhitespace(current)) {
+                    finish();
+                }
+                else {
+                    if (length == token.length)
+                        token = Arrays.copyOf(token, 2 * length);
+                    token[length++] = current;
+                    if (current >= 128)
+                        ascii = false;
+                }
+            }
+        }
+
+        /**
+         * Ends the current token and passes the word it contains to the action
+         * if there is one.
+         */
+        void finish() {
+            if (length == 0)
+                return;
+
+            if (ascii) {
+                // lower-case and keep only the letters, overwriting the token
+                int wordLength = 0;
+                for (int i = 0; i < length; i++) {
+                    char current = token[i];
+                    if (current >= 'A' && current <= 'Z')
+                        current += 'a' - 'A';
+                    if (current >= 'a' && current <= 'z')
+                        token[wordLength++] = current;
+                    else if (current == '\'')
+                        break;
+                }
+                if (wordLength != 0)
+                    action.accept(new String(token, 0, wordLength));
+            }
+            else {
+                String word = stripNonLetters(new String(token, 0, length).toLowerCase());
+                if (word.length() != 0)
+                    action.accept(word);
+            }
+
+            length = 0;
+            ascii = true;
+        }
+    }
+
     /**
      * Removes any non-alphabetic characters from token word and returns a modified
      * word.
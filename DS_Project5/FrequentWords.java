@@ -6,12 +6,20 @@ package project5;
 
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * The FrequentWords program parses an input text file and uses different data
@@ -28,6 +36,51 @@ import java.util.Iterator;
  * that occur at least cutOfValue many times in the input file in alphabetical
  * order, one per line together with their counts
  *
+ * An optional fourth parameter selects a single data structure to be used
+ * instead of comparing the sorted linked list with the binary search tree:
+ * java FrequentWords inputFile cutOffValue outputFile indexType
+ * where indexType is one of: list, bst, rbt, hash, concurrent, compact, offheap,
+ * skiplist, radix
+ *
+ * Options starting with a dash may be given anywhere on the command line:
+ * -mapped   reads the input file through a memory-mapped tokenizer
+ *           instead of Scanner; the list of words is the same for a file
+ *           that is valid in the default charset, but bytes that are not
+ *           are replaced and reading goes on, while Scanner silently stops
+ *           at them (often before the first word), so for such a file the
+ *           two may produce different results
+ * -stream   adds the words to each index as they are read instead of
+ *           storing all of them in a list first; the input file is then
+ *           read once for every data structure used
+ * -parallel splits the input file into parts that are counted at the same
+ *           time by separate threads, each into its own index, and then
+ *           merges the partial indexes into one; the parts are always read
+ *           through the memory-mapped tokenizer, so -parallel implies -mapped
+ * -top=K    writes only the K most frequent words whose count is at least
+ *           cutOffValue, most frequent first (ties in alphabetical order),
+ *           instead of all such words in alphabetical order
+ * -prefix=P writes only the words that start with P
+ * -from=A   writes only the words that are alphabetically at least A
+ * -to=B     writes only the words that are alphabetically before B
+ *           (these three may be combined with each other and with -top)
+ * -save=F   saves the index (the words that remain after the cut off,
+ *           or all words with -top) to the binary file F, which can be
+ *           used as the input file of a later run with -load
+ * -load     treats the input file as an index saved with -save and
+ *           queries it directly instead of reading and counting words
+ * -metrics  measures every add, get and remove call made on each data
+ *           structure and prints the number of calls, their running times
+ *           and the depth of the searches (cannot be combined with -parallel
+ *           or with a directory as the input file)
+ *
+ * When inputFile is a directory, the words of all the files in it and in its
+ * subdirectories (other than hidden files) are counted. Each file is counted
+ * into its own index, in parallel, and the indexes are then merged.
+ * -cache=D  keeps the counts of every file in the directory D; a file whose
+ *           modification time and length have not changed since the counts
+ *           were saved, by a run with the same default charset and the same
+ *           -mapped setting, is not read again
+ *
  * @author Joanna Klukowska
  * @version November 17, 2023
  *
@@ -41,6 +94,24 @@ public class FrequentWords {
         // timers used for performance evaluation of different data structures
         long start, end;
 
+        // separate the options from the positional parameters
+        ArrayList<String> options = new ArrayList<String>();
+        ArrayList<String> params = new ArrayList<String>();
+        for (String arg : args) {
+            if (arg.startsWith("-") && arg.length() > 1) {
+                // option names are not case sensitive, their values (file names) are
+                String option = arg.substring(1);
+                int equals = option.indexOf('=');
+                if (equals < 0)
+                    options.add(option.toLowerCase());
+                else
+                    options.add(option.substring(0, equals).toLowerCase() + option.substring(equals));
+            }
+            else
+                params.add(arg);
+        }
+        args = params.toArray(new String[0]);
+
         // verify number of command line arguments
         if (args.length < 3) {
             System.err.printf("\nERROR : missing parameters. \n\n");
@@ -49,40 +120,77 @@ public class FrequentWords {
 
         // make sure that the output file argument is valid
         File outFile = new File(args[2]);
-        PrintWriter out = null;
+        WordWriter out = null;
 
         if (outFile.canWrite() || !outFile.exists()) {
             try {
-                out = new PrintWriter(outFile);
-            } catch (FileNotFoundException e) {
+                out = new WordWriter(outFile);
+            } catch (IOException e) {
                 System.err.println("ERROR: problem encountered opening output file.");
                 System.err.println(e.getMessage());
                 System.exit(1);
             }
         }
 
-        // initial storage of all words from the input file
-        ArrayList<String> allWords = new ArrayList<String>();
+        boolean load = options.contains("load");
+        // the files of a directory are always read straight into the indexes
+        boolean stream = options.contains("stream") || options.contains("parallel")
+                         || new File(args[0]).isDirectory();
+        int minCount = Integer.valueOf(args[1]);
 
-        // FileParser object processes the input file and produces a list
-        // containing all words found in the input file
-        FileParser fp = null;
-        try {
-            fp = new FileParser(args[0]);
-        } catch (IOException e) {
-            System.err.println("ERROR: problem encountered reading file:");
-            System.err.println(e.getMessage());
-            System.exit(1);
+        // number of most frequent words to report, 0 if all words should be reported
+        int topCount = 0;
+        if (optionValue(options, "top") != null) {
+            try {
+                topCount = Integer.parseInt(optionValue(options, "top"));
+            } catch (NumberFormatException e) {
+                topCount = -1;
+            }
+            if (topCount <= 0) {
+                System.err.printf("\nERROR : -top requires a positive number of words. \n\n");
+                System.exit(1);
+            }
         }
-        // process the input file and display information about processing time
-        // and number of words read
-        start = System.nanoTime();
-        allWords = fp.getAllWords();
-        end = System.nanoTime();
-        System.out.printf("INFO: Reading file took %d ms (~ %7.3f seconds).\n", (end - start) / 1000,
-                          (end - start) / 1000000000.0);
+        // when only the top words are reported, the cut off value is applied while
+        // selecting them and the index is not pruned (no word has a count below 1)
+        int pruneCount = (topCount > 0) ? 1 : minCount;
+
+        // initial storage of all words from the input file,
+        // it stays null when the words are streamed into each index
+        ArrayList<String> allWords = null;
 
-        System.out.printf("INFO: %d words read. \n", allWords.size());
+        if (!stream && !load) {
+            // FileParser object processes the input file and produces a list
+            // containing all words found in the input file
+            FileParser fp = null;
+            try {
+                fp = new FileParser(args[0]);
+            } catch (IOException e) {
+                System.err.println("ERROR: problem encountered reading file:");
+                System.err.println(e.getMessage());
+                System.exit(1);
+            }
+            // process the input file and display information about processing time
+            // and number of words read
+            start = System.nanoTime();
+            if (options.contains("mapped")) {
+                try {
+                    allWords = fp.getAllWordsMapped();
+                } catch (IOException e) {
+                    System.err.println("ERROR: problem encountered reading file:");
+                    System.err.println(e.getMessage());
+                    System.exit(1);
+                }
+            }
+            else {
+                allWords = fp.getAllWords();
+            }
+            end = System.nanoTime();
+            System.out.printf("INFO: Reading file took %d ms (~ %7.3f seconds).\n", (end - start) / 1000,
+                              (end - start) / 1000000000.0);
+
+            System.out.printf("INFO: %d words read. \n", allWords.size());
+        }
 
         // wordList can be instantiated to different data structures
         // as long as they implement the Index interface;
@@ -90,39 +198,182 @@ public class FrequentWords {
         Index wordList1 = null;
         Index wordList2 = null;
 
-        // process the words using a sorted linked list
-        wordList1 = new SortedLinkedList();
-        runTest(wordList1, allWords, System.out, Integer.valueOf(args[1]));
+        // the words have been counted by an earlier run
+        if (load) {
+            start = System.nanoTime();
+            try {
+                wordList1 = new MappedIndex(args[0]);
+            } catch (IOException e) {
+                System.err.println("ERROR: problem encountered reading index file:");
+                System.err.println(e.getMessage());
+                System.exit(1);
+            }
+            end = System.nanoTime();
+            System.out.printf("INFO: Loading index took %d ms (~ %7.3f seconds).\n", (end - start) / 1000,
+                              (end - start) / 1000000000.0);
+            System.out.printf("INFO: %d words stored in index.\n", wordList1.size());
+        }
+        // a single data structure has been requested, skip the comparison
+        else if (args.length > 3) {
+            wordList1 = createIndex(args[3]);
+            if (wordList1 == null) {
+                System.err.printf("\nERROR : unknown index type %s. \n\n", args[3]);
+                System.exit(1);
+            }
+            if (options.contains("metrics"))
+                wordList1 = new InstrumentedIndex(wordList1);
+            runTest(wordList1, allWords, args[0], options, pruneCount);
+        }
+        else {
+            // process the words using a sorted linked list
+            wordList1 = new SortedLinkedList();
+            if (options.contains("metrics"))
+                wordList1 = new InstrumentedIndex(wordList1);
+            runTest(wordList1, allWords, args[0], options, pruneCount);
 
-        // process the words using iterative bst
-        wordList2 = new BSTIndex();
-        runTest(wordList2, allWords, System.out, Integer.valueOf(args[1]));
+            // process the words using iterative bst
+            wordList2 = new BSTIndex();
+            if (options.contains("metrics"))
+                wordList2 = new InstrumentedIndex(wordList2);
+            runTest(wordList2, allWords, args[0], options, pruneCount);
 
-        // verify that the two objects are the same
-        if (!wordList1.equals(wordList2)) {
-            System.out.printf("ERROR: two word lists are not the same\n\n");
+            // verify that the two objects are the same
+            if (!wordList1.equals(wordList2)) {
+                System.out.printf("ERROR: two word lists are not the same\n\n");
 
-            Iterator<Word> itr1 = wordList1.iterator();
-            Iterator<Word> itr2 = wordList2.iterator();
+                Iterator<Word> itr1 = wordList1.iterator();
+                Iterator<Word> itr2 = wordList2.iterator();
 
-            System.out.printf("%-20s%-20s\n", "wordList1:", "wordList2:");
-            while (itr1.hasNext() && itr2.hasNext()) {
-                System.out.printf("%-20s%-20s\n", itr1.next(), itr2.next());
-            }
-            while (itr1.hasNext()) {
-                System.out.printf("%-20s%-20s\n", itr1.next(), "");
+                System.out.printf("%-20s%-20s\n", "wordList1:", "wordList2:");
+                while (itr1.hasNext() && itr2.hasNext()) {
+                    System.out.printf("%-20s%-20s\n", itr1.next(), itr2.next());
+                }
+                while (itr1.hasNext()) {
+                    System.out.printf("%-20s%-20s\n", itr1.next(), "");
+                }
+                while (itr2.hasNext()) {
+                    System.out.printf("%-20s%-20s\n", "", itr2.next());
+                }
             }
-            while (itr2.hasNext()) {
-                System.out.printf("%-20s%-20s\n", "", itr2.next());
+        }
+
+        if (optionValue(options, "save") != null) {
+            start = System.nanoTime();
+            try {
+                MappedIndex.save(wordList1, optionValue(options, "save"));
+            } catch (IOException e) {
+                System.err.println("ERROR: problem encountered saving index:");
+                System.err.println(e.getMessage());
+                System.exit(1);
             }
+            end = System.nanoTime();
+            System.out.printf("INFO: Saving index took %d ms (~ %7.3f seconds).\n", (end - start) / 1000,
+                              (end - start) / 1000000000.0);
+        }
+
+        // the range of words to be reported, null bounds leave the range open
+        String from = RangeIndex.normalizeBound(optionValue(options, "from"));
+        String to = RangeIndex.normalizeBound(optionValue(options, "to"));
+        String prefix = RangeIndex.normalizeBound(optionValue(options, "prefix"));
+        if (prefix != null) {
+            if (from == null || from.compareTo(prefix) < 0)
+                from = prefix;
+            String prefixEnd = RangeIndex.prefixEnd(prefix);
+            if (to == null || (prefixEnd != null && prefixEnd.compareTo(to) < 0))
+                to = prefixEnd;
         }
+        Iterator<Word> selected = selectWords(wordList1, from, to);
 
         // write data to the output file
-        for (Word w : wordList1 ) {
-            out.println( w );
+        try {
+            if (topCount > 0) {
+                start = System.nanoTime();
+                ArrayList<Word> topWords = topWords(selected, topCount, minCount);
+                end = System.nanoTime();
+                System.out.printf("INFO: Finding top %d words took %d ms (~ %7.3f seconds).\n",
+                                  topCount, (end - start) / 1000, (end - start) / 1000000000.0);
+                for (Word w : topWords) {
+                    out.write( w );
+                }
+            }
+            else {
+                // a loaded index has not been pruned
+                while (selected.hasNext()) {
+                    Word w = selected.next();
+                    if (w.getCount() >= minCount)
+                        out.write( w );
+                }
+            }
+            // close the output stream
+            out.close();
+        } catch (IOException e) {
+            System.err.println("ERROR: problem encountered writing output file.");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the value of an option given as -name=value, or null if there is
+     * no such option.
+     *
+     * @param options options given on the command line (without the dash)
+     * @param name    name of the option
+     * @return the value of the option, or null if it has not been given
+     */
+    private static String optionValue(ArrayList<String> options, String name) {
+        for (String option : options) {
+            if (option.startsWith(name + "="))
+                return option.substring(name.length() + 1);
+        }
+        return null;
+    }
+
+    /**
+     * Runs runTest() on the list of words if it has been read already. Otherwise
+     * runDirectoryTest() is used if the input file is a directory, or a new parser
+     * is created for the input file and runParallelTest() or runStreamingTest()
+     * is used, depending on the options.
+     * Statistics are printed to the standard output, followed by the
+     * measurements of an InstrumentedIndex.
+     *
+     * @param index     data structure used for storing unique words and their counts
+     * @param allWords  list of all the words, or null if the words should be streamed
+     * @param inputFile name of the input file
+     * @param options   options given on the command line
+     * @param minCount  smallest counter for words that should remain in the data
+     *                  structure
+     */
+    private static void runTest(Index index, ArrayList<String> allWords,
+                                String inputFile, ArrayList<String> options, int minCount) {
+        try {
+            if (allWords != null)
+                runTest(index, allWords, System.out, minCount);
+            else if (new File(inputFile).isDirectory()) {
+                String cache = optionValue(options, "cache");
+                runDirectoryTest(index, new File(inputFile),
+                                 (cache == null) ? null
+                                 : new CountCache(new File(cache), options.contains("mapped")),
+                                 options.contains("mapped"), System.out, minCount);
+            }
+            else if (options.contains("parallel"))
+                runParallelTest(index, new FileParser(inputFile), System.out, minCount);
+            else
+                runStreamingTest(index, new FileParser(inputFile), options.contains("mapped"),
+                                 System.out, minCount);
+        } catch (IOException e) {
+            System.err.println("ERROR: problem encountered reading file:");
+            System.err.println(e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            System.exit(1);
+        }
+
+        if (index instanceof InstrumentedIndex) {
+            System.out.printf("INFO: %s metrics:\n", indexName(index));
+            System.out.print(((InstrumentedIndex) index).snapshot());
         }
-        // close the output stream
-        out.close();
     }
 
     /**
@@ -142,15 +393,8 @@ public class FrequentWords {
                                PrintStream out, int minCount) {
 
         long start, end;
-        String className = null;
         // print the information about data structure used
-        if (index instanceof SortedLinkedList)
-            className = "Sorted Linked List";
-        else if (index instanceof BSTIndex)
-            className = "Recursive BST";
-        else
-            className = " Index ";
-        out.printf("\nProcessing using %s\n", className);
+        out.printf("\nProcessing using %s\n", indexName(index));
 
         // add words from allWords to the data structure referenced by index
         // and print the information
@@ -162,6 +406,95 @@ public class FrequentWords {
                    (end - start) / 1000000000.0);
         out.printf("INFO: %d words stored in index.\n", index.size());
 
+        runPrune(index, out, minCount);
+    }
+
+    /**
+     * Produces counts of each word read by the parser using index data structure
+     * and retains only the words whose count is at least minCount. The words are
+     * added to the index as soon as they are read, so the memory used depends on
+     * the number of unique words rather than on the size of the input file.
+     * The information about time used for processing and number of words
+     * remaining in the index structure are printed to the out stream.
+     *
+     * @param index    data structure used for storing unique words and their counts
+     * @param fp       parser connected to the input file, it is used up by this call
+     * @param mapped   true if the input file should be read through a memory map
+     * @param out      output stream to which statistics should be printed
+     * @param minCount smallest counter for words that should remain in the data
+     *                 structure
+     * @throws IOException if the input file cannot be read
+     */
+    public static void runStreamingTest(Index index, FileParser fp, boolean mapped,
+                                        PrintStream out, int minCount) throws IOException {
+
+        long start, end;
+        // print the information about data structure used
+        out.printf("\nProcessing using %s\n", indexName(index));
+
+        // read the words straight into the data structure referenced by index
+        // and print the information
+        start = System.nanoTime();
+        long wordCount = populateIndex(index, fp, mapped);
+        end = System.nanoTime();
+        out.printf("INFO: Reading file and creating index took %d ms (~ %7.3f seconds).\n",
+                   (end - start) / 1000,
+                   (end - start) / 1000000000.0);
+        out.printf("INFO: %d words read. \n", wordCount);
+        out.printf("INFO: %d words stored in index.\n", index.size());
+
+        runPrune(index, out, minCount);
+    }
+
+    /**
+     * Produces counts of each word in the input file using several threads and
+     * retains only the words whose count is at least minCount. The input file is
+     * read through the memory-mapped tokenizer (see populateIndexParallel()).
+     * The information about time used for processing and number of words
+     * remaining in the index structure are printed to the out stream.
+     *
+     * @param index    data structure used for storing unique words and their counts,
+     *                 it has to implement MergeableIndex
+     * @param fp       parser connected to the input file
+     * @param out      output stream to which statistics should be printed
+     * @param minCount smallest counter for words that should remain in the data
+     *                 structure
+     * @throws IOException if the input file cannot be read
+     * @throws IllegalArgumentException if index does not implement MergeableIndex
+     */
+    public static void runParallelTest(Index index, FileParser fp, PrintStream out,
+                                       int minCount) throws IOException {
+
+        long start, end;
+        // print the information about data structure used
+        out.printf("\nProcessing using %s in parallel\n", indexName(index));
+
+        // count the parts of the input file in parallel and merge the results
+        // into index, then print the information
+        start = System.nanoTime();
+        long wordCount = populateIndexParallel(index, fp);
+        end = System.nanoTime();
+        out.printf("INFO: Reading file and creating index took %d ms (~ %7.3f seconds).\n",
+                   (end - start) / 1000,
+                   (end - start) / 1000000000.0);
+        out.printf("INFO: %d words read. \n", wordCount);
+        out.printf("INFO: %d words stored in index.\n", index.size());
+
+        runPrune(index, out, minCount);
+    }
+
+    /**
+     * Prunes the index and prints the information about time used for pruning
+     * and number of words remaining in the index to the out stream.
+     *
+     * @param index    data structure used for storing unique words and their counts
+     * @param out      output stream to which statistics should be printed
+     * @param minCount smallest counter for words that should remain in the data
+     *                 structure
+     */
+    private static void runPrune(Index index, PrintStream out, int minCount) {
+        long start, end;
+
         // prune the index by removing words whose count is smaller than minCount
         // and print the information
         start = System.nanoTime();
@@ -171,7 +504,296 @@ public class FrequentWords {
                    (end - start) / 1000,
                    (end - start) / 1000000000.0);
         out.printf("INFO: %d words remaining after pruning.\n", index.size());
+    }
 
+    /**
+     * Produces counts of each word in all the files of a directory using index
+     * data structure and retains only the words whose count is at least minCount.
+     * The files are counted in parallel, or loaded from the cache if their counts
+     * have been saved there. The information about time used for processing and
+     * number of words remaining in the index structure are printed to the out
+     * stream.
+     *
+     * @param index     data structure used for storing unique words and their
+     *                  counts, it has to implement MergeableIndex
+     * @param directory directory containing the files to be read
+     * @param cache     cache of the counts of the files, or null
+     * @param mapped    true if the files should be read through a memory map
+     * @param out       output stream to which statistics should be printed
+     * @param minCount  smallest counter for words that should remain in the data
+     *                  structure
+     * @throws IOException if a file cannot be read or its counts cannot be saved
+     */
+    public static void runDirectoryTest(Index index, File directory, CountCache cache,
+                                        boolean mapped, PrintStream out, int minCount)
+        throws IOException {
+
+        long start, end;
+        // print the information about data structure used
+        out.printf("\nProcessing using %s\n", indexName(index));
+
+        start = System.nanoTime();
+        List<File> files = listFiles(directory, cache);
+        LongAdder wordCount = new LongAdder();
+        LongAdder fromCache = new LongAdder();
+        populateIndexFromFiles(index, files, cache, mapped, wordCount, fromCache);
+        end = System.nanoTime();
+        out.printf("INFO: Reading %d files (%d from cache) and creating index took %d ms (~ %7.3f seconds).\n",
+                   files.size(), fromCache.sum(), (end - start) / 1000,
+                   (end - start) / 1000000000.0);
+        out.printf("INFO: %d words read. \n", wordCount.sum());
+        out.printf("INFO: %d words stored in index.\n", index.size());
+
+        runPrune(index, out, minCount);
+    }
+
+    /**
+     * Returns the regular files in directory and its subdirectories in order of
+     * their paths, leaving out hidden files, the files in hidden directories and
+     * the files in the cache directory.
+     *
+     * @param directory directory to be searched
+     * @param cache     cache whose files should be left out, or null
+     * @return list of the files to be counted
+     * @throws IOException if the directory cannot be read
+     */
+    private static List<File> listFiles(File directory, CountCache cache) throws IOException {
+        Path cachePath = (cache == null) ? null
+                         : cache.getDirectory().getCanonicalFile().toPath();
+        Path root = directory.toPath();
+        ArrayList<File> files = new ArrayList<File>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile)
+                 .filter(path -> {
+                     for (Path name : root.relativize(path))
+                         if (name.toString().startsWith("."))
+                             return false;
+                     return true;
+                 })
+                 .sorted()
+                 .forEach(path -> files.add(path.toFile()));
+        }
+        if (cachePath != null) {
+            files.removeIf(file -> {
+                try {
+                    return file.getCanonicalFile().toPath().startsWith(cachePath);
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+        }
+        return files;
+    }
+
+    /**
+     * Populates index data structure with the words of all the given files using
+     * the common fork-join pool. Each file is counted into a new, empty index of
+     * the same type as index (or loaded from the cache), and the partial indexes
+     * are merged pairwise as the tasks complete. For the sorted data structures
+     * each merge is a single linear pass over the two indexes in alphabetical order.
+     *
+     * @param index     data structure to store unique words and their counts,
+     *                  it has to implement MergeableIndex
+     * @param files     files to be read
+     * @param cache     cache of the counts of the files, or null
+     * @param mapped    true if the files should be read through a memory map
+     * @param wordCount incremented by the number of words read from the files
+     * @param fromCache incremented by the number of files loaded from the cache
+     * @throws IOException if a file cannot be read or its counts cannot be saved
+     * @throws IllegalArgumentException if index does not implement MergeableIndex
+     */
+    public static void populateIndexFromFiles(Index index, List<File> files, CountCache cache,
+                                              boolean mapped, LongAdder wordCount,
+                                              LongAdder fromCache) throws IOException {
+        if (!(index instanceof MergeableIndex))
+            throw new IllegalArgumentException(indexName(index) + " cannot merge the counts of many files.");
+        if (files.isEmpty())
+            return;
+
+        Index counted;
+        try {
+            counted = ForkJoinPool.commonPool().invoke(
+                          new FileTask(index, files, 0, files.size(), cache, mapped,
+                                       wordCount, fromCache));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ((MergeableIndex) index).merge(counted);
+    }
+
+    /**
+     * A fork-join task that counts the words of the files from (inclusive) to
+     * to (exclusive) and returns them in one index.
+     */
+    private static class FileTask extends RecursiveTask<Index> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Index prototype;
+        private final List<File> files;
+        private final int from;
+        private final int to;
+        private final CountCache cache;
+        private final boolean mapped;
+        private final LongAdder wordCount;
+        private final LongAdder fromCache;
+
+        FileTask(Index prototype, List<File> files, int from, int to, CountCache cache,
+                 boolean mapped, LongAdder wordCount, LongAdder fromCache) {
+            this.prototype = prototype;
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.cache = cache;
+            this.mapped = mapped;
+            this.wordCount = wordCount;
+            this.fromCache = fromCache;
+        }
+
+        @Override
+        protected Index compute() {
+            // a single file is counted directly
+            if (to - from == 1) {
+                try {
+                    return countFile(files.get(from));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            // otherwise the files are split in two halves counted in parallel
+            int mid = (from + to) >>> 1;
+            FileTask left = new FileTask(prototype, files, from, mid, cache, mapped,
+                                         wordCount, fromCache);
+            FileTask right = new FileTask(prototype, files, mid, to, cache, mapped,
+                                          wordCount, fromCache);
+            left.fork();
+            Index rightIndex = right.compute();
+            Index leftIndex = left.join();
+
+            // counts loaded from the cache cannot be modified, so they are
+            // merged into a new index
+            if (leftIndex instanceof MergeableIndex) {
+                ((MergeableIndex) leftIndex).merge(rightIndex);
+                return leftIndex;
+            }
+            if (rightIndex instanceof MergeableIndex) {
+                ((MergeableIndex) rightIndex).merge(leftIndex);
+                return rightIndex;
+            }
+            Index merged = newIndexLike(prototype);
+            ((MergeableIndex) merged).merge(leftIndex);
+            ((MergeableIndex) merged).merge(rightIndex);
+            return merged;
+        }
+
+        /**
+         * Returns the counts of the words of file, loaded from the cache if they
+         * have been saved there, otherwise counted and then saved in the cache.
+         */
+        private Index countFile(File file) throws IOException {
+            File entry = (cache == null) ? null : cache.entryFor(file);
+            if (entry != null) {
+                Index saved = cache.load(entry);
+                if (saved != null) {
+                    fromCache.increment();
+                    return saved;
+                }
+            }
+
+            Index part = newIndexLike(prototype);
+            wordCount.add(populateIndex(part, new FileParser(file.getPath()), mapped));
+            if (entry != null)
+                cache.store(file, entry, part);
+            return part;
+        }
+    }
+
+    /**
+     * Returns a name describing the data structure used by index.
+     *
+     * @param index data structure used for storing unique words and their counts
+     * @return name of the data structure
+     */
+    private static String indexName(Index index) {
+        if (index instanceof InstrumentedIndex)
+            return indexName(((InstrumentedIndex) index).getIndex()) + " (instrumented)";
+        else if (index instanceof SortedLinkedList)
+            return "Sorted Linked List";
+        else if (index instanceof BSTIndex)
+            return "Recursive BST";
+        else if (index instanceof RBTIndex)
+            return "Red-Black Tree";
+        else if (index instanceof HashIndex)
+            return "Hash Table";
+        else if (index instanceof ConcurrentIndex)
+            return "Concurrent Skip List";
+        else if (index instanceof CompactIndex)
+            return ((CompactIndex) index).isOffHeap() ? "Off-Heap Byte Table" : "Byte Table";
+        else if (index instanceof SkipListIndex)
+            return "Skip List";
+        else if (index instanceof RadixIndex)
+            return "Radix Tree";
+        else
+            return " Index ";
+    }
+
+    /**
+     * Creates an empty index data structure given its short name.
+     *
+     * @param indexType name of the data structure: list, bst, rbt, hash, concurrent,
+     *                  compact, offheap, skiplist or radix
+     * @return a new empty index, or null if indexType is not recognized
+     */
+    public static Index createIndex(String indexType) {
+        if (indexType.equalsIgnoreCase("list"))
+            return new SortedLinkedList();
+        else if (indexType.equalsIgnoreCase("bst"))
+            return new BSTIndex();
+        else if (indexType.equalsIgnoreCase("rbt"))
+            return new RBTIndex();
+        else if (indexType.equalsIgnoreCase("hash"))
+            return new HashIndex();
+        else if (indexType.equalsIgnoreCase("concurrent"))
+            return new ConcurrentIndex();
+        else if (indexType.equalsIgnoreCase("compact"))
+            return new CompactIndex(false);
+        else if (indexType.equalsIgnoreCase("offheap"))
+            return new CompactIndex(true);
+        else if (indexType.equalsIgnoreCase("skiplist"))
+            return new SkipListIndex();
+        else if (indexType.equalsIgnoreCase("radix"))
+            return new RadixIndex();
+        return null;
+    }
+
+    /**
+     * Creates an empty index data structure of the same type as index.
+     *
+     * @param index data structure whose type should be used
+     * @return a new empty index
+     * @throws IllegalArgumentException if the type of index is not known
+     */
+    public static Index newIndexLike(Index index) {
+        if (index instanceof InstrumentedIndex)
+            return new InstrumentedIndex(newIndexLike(((InstrumentedIndex) index).getIndex()));
+        else if (index instanceof SortedLinkedList)
+            return new SortedLinkedList();
+        else if (index instanceof BSTIndex)
+            return new BSTIndex();
+        else if (index instanceof RBTIndex)
+            return new RBTIndex();
+        else if (index instanceof HashIndex)
+            return new HashIndex();
+        else if (index instanceof ConcurrentIndex)
+            return new ConcurrentIndex();
+        else if (index instanceof CompactIndex)
+            return new CompactIndex(((CompactIndex) index).isOffHeap());
+        else if (index instanceof SkipListIndex)
+            return new SkipListIndex();
+        else if (index instanceof RadixIndex)
+            return new RadixIndex();
+        throw new IllegalArgumentException("Unknown index type " + index.getClass().getName());
     }
 
     /**
@@ -190,6 +812,219 @@ public class FrequentWords {
         }
     }
 
+    /**
+     * Populates index data structure with the words read by the parser, one
+     * word at a time. index stores unique words and their counts.
+     *
+     * @param index  data structure to store unique words and their counts
+     * @param fp     parser connected to the input file
+     * @param mapped true if the input file should be read through a memory map
+     * @return number of words read from the input file
+     * @throws IOException if the input file cannot be read
+     */
+    public static long populateIndex(Index index, FileParser fp, boolean mapped)
+        throws IOException {
+
+        // number of words read, kept in an array so that the lambda can update it
+        long[] wordCount = new long[1];
+        if (mapped) {
+            fp.forEachWordMapped(word -> {
+                index.add(word);
+                wordCount[0]++;
+            });
+        }
+        else {
+            fp.forEachWord(word -> {
+                index.add(word);
+                wordCount[0]++;
+            });
+        }
+        return wordCount[0];
+    }
+
+    /**
+     * Populates index data structure with the words of the input file using the
+     * common fork-join pool. The file is split on word boundaries into a few parts
+     * per processor; each part is counted into a new, empty index of the same type
+     * as index, and the partial indexes are merged pairwise as the tasks complete.
+     * A ConcurrentIndex is instead shared by all the tasks, which add their
+     * words to it directly so that no merging is needed.
+     * The parts are read through the memory-mapped tokenizer, so the result is
+     * the same as the one produced by the sequential populateIndex() with mapped
+     * set to true (which differs from Scanner for a file that is not valid in
+     * the default charset).
+     *
+     * @param index data structure to store unique words and their counts,
+     *              it has to implement MergeableIndex
+     * @param fp    parser connected to the input file
+     * @return number of words read from the input file
+     * @throws IOException if the input file cannot be read
+     * @throws IllegalArgumentException if index does not implement MergeableIndex
+     */
+    public static long populateIndexParallel(Index index, FileParser fp) throws IOException {
+        if (!(index instanceof MergeableIndex))
+            throw new IllegalArgumentException(indexName(index) + " cannot be populated in parallel.");
+
+        long[] points = fp.splitPoints(4 * Runtime.getRuntime().availableProcessors());
+        LongAdder wordCount = new LongAdder();
+
+        Index counted;
+        try {
+            counted = ForkJoinPool.commonPool().invoke(
+                          new CountTask(index, fp, points, 0, points.length - 1, wordCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (counted != index)
+            ((MergeableIndex) index).merge(counted);
+        return wordCount.sum();
+    }
+
+    /**
+     * A fork-join task that counts the words of the parts from (inclusive) to
+     * to (exclusive) of the input file and returns them in a new index.
+     */
+    private static class CountTask extends RecursiveTask<Index> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Index prototype;
+        private final FileParser fp;
+        private final long[] points;
+        private final int from;
+        private final int to;
+        private final LongAdder wordCount;
+
+        CountTask(Index prototype, FileParser fp, long[] points, int from, int to,
+                  LongAdder wordCount) {
+            this.prototype = prototype;
+            this.fp = fp;
+            this.points = points;
+            this.from = from;
+            this.to = to;
+            this.wordCount = wordCount;
+        }
+
+        @Override
+        protected Index compute() {
+            // a single part is counted directly
+            if (to - from == 1) {
+                Index part = (prototype instanceof ConcurrentIndex) ? prototype
+                             : newIndexLike(prototype);
+                long[] count = new long[1];
+                try {
+                    fp.forEachWordMapped(points[from], points[to], word -> {
+                        part.add(word);
+                        count[0]++;
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                wordCount.add(count[0]);
+                return part;
+            }
+
+            // otherwise the parts are split in two halves counted in parallel
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(prototype, fp, points, from, mid, wordCount);
+            CountTask right = new CountTask(prototype, fp, points, mid, to, wordCount);
+            left.fork();
+            Index rightIndex = right.compute();
+            Index leftIndex = left.join();
+            if (leftIndex != rightIndex)
+                ((MergeableIndex) leftIndex).merge(rightIndex);
+            return leftIndex;
+        }
+    }
+
+    /**
+     * Returns the k most frequent words in index whose count is at least minCount,
+     * most frequent first; words with the same count are in alphabetical order.
+     * The index is traversed once while a min-heap keeps the best k words seen so
+     * far, so this takes O(n log k) time and O(k) extra memory and leaves the
+     * index unchanged.
+     *
+     * @param index    data structure storing unique words and their counts
+     * @param k        largest number of words to be returned
+     * @param minCount smallest count of the words to be returned
+     * @return list of at most k Word objects in the order described above
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public static ArrayList<Word> topWords(Index index, int k, int minCount) {
+        return topWords(index.iterator(), k, minCount);
+    }
+
+    /**
+     * Returns the k most frequent words returned by the iterator whose count is
+     * at least minCount, most frequent first; words with the same count are in
+     * alphabetical order.
+     *
+     * @param words    iterator over the words to choose from
+     * @param k        largest number of words to be returned
+     * @param minCount smallest count of the words to be returned
+     * @return list of at most k Word objects in the order described above
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public static ArrayList<Word> topWords(Iterator<Word> words, int k, int minCount) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Number of words must be positive.");
+
+        // orders words from the most to the least frequent
+        Comparator<Word> byFrequency = (w1, w2) -> {
+            if (w1.getCount() != w2.getCount())
+                return Integer.compare(w2.getCount(), w1.getCount());
+            return w1.compareTo(w2);
+        };
+
+        // the head of the heap is the least frequent of the words kept so far
+        PriorityQueue<Word> heap = new PriorityQueue<Word>(k, byFrequency.reversed());
+        while (words.hasNext()) {
+            Word w = words.next();
+            if (w.getCount() < minCount)
+                continue;
+            if (heap.size() < k) {
+                heap.add(w);
+            }
+            else if (byFrequency.compare(w, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(w);
+            }
+        }
+
+        ArrayList<Word> result = new ArrayList<Word>(heap);
+        result.sort(byFrequency);
+        return result;
+    }
+
+    /**
+     * Returns an iterator over the words of index that are at least from and
+     * smaller than to, in alphabetical order. A RangeIndex seeks directly to
+     * the first such word; any other index is traversed from the beginning.
+     *
+     * @param index data structure storing unique words and their counts
+     * @param from  smallest word to be returned, or null for no lower bound
+     * @param to    word at which the iteration stops, or null for no upper bound
+     * @return iterator over the words in the range
+     */
+    public static Iterator<Word> selectWords(Index index, String from, String to) {
+        if (index instanceof RangeIndex)
+            return ((RangeIndex) index).range(from, to);
+
+        Iterator<Word> all = index.iterator();
+        if (from == null && to == null)
+            return all;
+
+        ArrayList<Word> selected = new ArrayList<Word>();
+        while (all.hasNext()) {
+            Word w = all.next();
+            if (to != null && w.getWord().compareTo(to) >= 0)
+                break;
+            if (from == null || w.getWord().compareTo(from) >= 0)
+                selected.add(w);
+        }
+        return selected.iterator();
+    }
+
     /**
      * Prunes (removes) all words whose count is smaller than minCount.
      *
@@ -198,6 +1033,16 @@ public class FrequentWords {
      *                 structure
      */
     public static void pruneIndex(Index index, int minCount) {
+        // every word has a count of at least one, there is nothing to remove
+        if (minCount <= 1)
+            return;
+
+        // data structures that can prune themselves in a single pass
+        if (index instanceof PrunableIndex) {
+            ((PrunableIndex) index).pruneBelow(minCount);
+            return;
+        }
+
         Iterator<Word> it = index.iterator();
         // get the first Word object from index
         Word tmp = null;
@@ -0,0 +1,431 @@
+package project5;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is an implementation of an open-addressing hash table to store word counts.
+ * It implements Index interface and Iterable interface.
+ *
+ * Words and their counts are kept in two parallel arrays (the counts as primitive
+ * ints) and collisions are resolved with linear probing, so add() and get() run in
+ * O(1) amortized time and no Word object is created while counting.
+ * The words are only put in alphabetical order when an iterator is requested:
+ * the iterator works on a sorted snapshot of the table taken at that moment.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class HashIndex implements PrunableIndex, MergeableIndex, Iterable<Word>
+{
+    //number of unique words a new table holds without resizing, by default
+    private static final int DEFAULT_EXPECTED_SIZE = 1024;
+
+    //private members: parallel arrays of words and their counts,
+    //and the number of words stored in the table
+    private String[] keys;
+    private int[] counts;
+    private int size;
+
+    /**
+     * Constructs a new empty hash table large enough to hold the default
+     * expected number of unique words without resizing.
+     */
+    public HashIndex()
+    {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs a new empty hash table large enough to hold the expected
+     * number of unique words without resizing.
+     *
+     * @param expectedSize expected number of unique words
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public HashIndex(int expectedSize)
+    {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Expected size cannot be negative.");
+
+        int capacity = 16;
+        while(capacity < 2 * expectedSize)
+            capacity *= 2;
+
+        keys = new String[capacity];
+        counts = new int[capacity];
+        size = 0;
+    }
+
+    /**
+     * Adds an item to the index. If the same word already exists, its count is
+     * incremented by one.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        addCount(word.toLowerCase().trim(), 1);
+    }
+
+    /**
+     * Adds all the words of other to this table, adding up the counts of the
+     * words that appear in both. This takes O(m) time when other is a HashIndex,
+     * otherwise it is bounded by the cost of iterating over other.
+     *
+     * @param other index whose words should be added to this table
+     * @throws IllegalArgumentException if other is null or is this table
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        if(other instanceof HashIndex){
+            HashIndex table = (HashIndex) other;
+            for(int i = 0; i < table.keys.length; i++){
+                if(table.keys[i] != null)
+                    addCount(table.keys[i], table.counts[i]);
+            }
+        }
+        else{
+            for(Word word : other)
+                addCount(word.getWord(), word.getCount());
+        }
+    }
+
+    /**
+     * Increases the count of the given (already normalized) word by amount,
+     * inserting the word first if it is not in the table.
+     *
+     * @param word the word to be counted
+     * @param amount the number to be added to its count
+     */
+    private void addCount(String word, int amount)
+    {
+        int slot = findSlot(word);
+        if(keys[slot] != null){
+            counts[slot] += amount;
+            return;
+        }
+
+        keys[slot] = word;
+        counts[slot] = amount;
+        size++;
+
+        //the table is doubled once it becomes more than half full
+        if(2 * size > keys.length)
+            resize(2 * keys.length);
+    }
+
+    /**
+     * Removes an item from the table if it exists, otherwise the table remains
+     * unchanged. This operation removes the word regardless of what the count is.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        int slot = findSlot(word.toLowerCase().trim());
+        if(keys[slot] != null)
+            deleteSlot(slot);
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the table.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        int slot = findSlot(word.toLowerCase().trim());
+        if(keys[slot] == null)
+            return -1;
+        return counts[slot];
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes every word whose count is smaller than minCount.
+     * The remaining entries are copied into fresh arrays in a single pass
+     * over the table, which is cheaper than shifting entries back after
+     * each individual deletion.
+     *
+     * @param minCount smallest count of the words that should remain in the table
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        String[] old_keys = keys;
+        int[] old_counts = counts;
+        keys = new String[old_keys.length];
+        counts = new int[old_counts.length];
+
+        int removed = 0;
+        for(int i = 0; i < old_keys.length; i++){
+            if(old_keys[i] == null)
+                continue;
+            if(old_counts[i] < minCount){
+                removed++;
+                continue;
+            }
+            int slot = findSlot(old_keys[i]);
+            keys[slot] = old_keys[i];
+            counts[slot] = old_counts[i];
+        }
+
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Returns the preferred slot of the given word in a table of the current capacity.
+     */
+    private int hash(String word)
+    {
+        int h = word.hashCode();
+        return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    /**
+     * Returns the slot holding the given word, or the empty slot at which
+     * the probe sequence for that word ends if the word is not in the table.
+     *
+     * @param word the (already normalized) word to search for
+     * @return index of the matching or first empty slot
+     */
+    private int findSlot(String word)
+    {
+        int slot = hash(word);
+        while(keys[slot] != null && !keys[slot].equals(word))
+            slot = (slot + 1) & (keys.length - 1);
+        return slot;
+    }
+
+    /**
+     * Empties the given slot and shifts back any entries further along the
+     * probe sequence that would otherwise become unreachable. This avoids
+     * leaving deleted markers in the table.
+     *
+     * @param slot index of the slot to be emptied
+     */
+    private void deleteSlot(int slot)
+    {
+        int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while(keys[next] != null){
+            int home = hash(keys[next]);
+            // the entry at next can move into slot only if slot lies
+            // (cyclically) between its preferred slot and next
+            if(((next - home) & mask) >= ((next - slot) & mask)){
+                keys[slot] = keys[next];
+                counts[slot] = counts[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = null;
+        counts[slot] = 0;
+        size--;
+    }
+
+    /**
+     * Moves all the entries into new arrays of the given capacity.
+     *
+     * @param capacity new capacity of the table, a power of two
+     */
+    private void resize(int capacity)
+    {
+        String[] old_keys = keys;
+        int[] old_counts = counts;
+        keys = new String[capacity];
+        counts = new int[capacity];
+
+        for(int i = 0; i < old_keys.length; i++){
+            if(old_keys[i] != null){
+                int slot = findSlot(old_keys[i]);
+                keys[slot] = old_keys[i];
+                counts[slot] = old_counts[i];
+            }
+        }
+    }
+
+    /**
+     * Returns a string representation of this table in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this table
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this table with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this table
+     * @return true if the specified object is equal to this table, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> table_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(table_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = table_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * An iterator class that returns the words of the table in alphabetical order.
+     * On construction it copies the words into an array and sorts it once; the
+     * Word objects are created one at a time as next() is called, with the count
+     * the word has at that moment. Words added after the iterator has been
+     * created are not seen by it, and words removed since then are skipped.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove().
+     */
+    private class SnapshotIterator implements Iterator<Word>
+    {
+        private String[] sorted;
+        private int currentIndex;
+        private String lastReturned;
+
+        /*
+         * Constructs a new iterator over a sorted copy of the words in the table.
+         */
+        public SnapshotIterator(){
+            sorted = new String[size];
+            int i = 0;
+            for(String key : keys){
+                if(key != null)
+                    sorted[i++] = key;
+            }
+            Arrays.sort(sorted);
+            currentIndex = 0;
+            lastReturned = null;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         */
+        @Override
+        public boolean hasNext(){
+            while(currentIndex < sorted.length && keys[findSlot(sorted[currentIndex])] == null)
+                currentIndex++;
+            return currentIndex < sorted.length;
+        }
+
+        /**
+         * Returns the next element in the iteration: a Word object holding the
+         * next word in alphabetical order and its current count.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            int slot;
+            do {
+                if (!hasNext())
+                    throw new NoSuchElementException("End of the list reached.");
+                lastReturned = sorted[currentIndex++];
+                slot = findSlot(lastReturned);
+            } while(keys[slot] == null);
+            return new Word(lastReturned, counts[slot]);
+        }
+
+        /**
+         * Removes from the underlying table the last element returned by this iterator.
+         * This method can be called only once per call to next().
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         */
+        @Override
+        public void remove(){
+            if(lastReturned == null)
+                throw new IllegalStateException("next() has not been called yet.");
+
+            int slot = findSlot(lastReturned);
+            if(keys[slot] != null)
+                deleteSlot(slot);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the table in alphabetical order.
+     *
+     * @return an iterator over the elements in the table
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new SnapshotIterator();
+    }
+}
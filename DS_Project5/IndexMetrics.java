@@ -0,0 +1,228 @@
+package project5;
+
+/**
+ * A snapshot of the measurements taken by an InstrumentedIndex: for each kind
+ * of operation, the number of calls, their running times and, when the index
+ * can report it, the number of nodes each call had to walk through. The
+ * running times are kept in a histogram whose buckets double in width, so
+ * percentiles are only known up to a factor of two.
+ *
+ * A snapshot does not change when more operations are performed on the index.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class IndexMetrics
+{
+    /**
+     * The operations of an Index that are measured.
+     */
+    public enum Operation
+    {
+        ADD, GET, REMOVE
+    }
+
+    /**
+     * Number of buckets of each latency histogram. Bucket 0 counts the calls
+     * that took no measurable time and bucket b > 0 counts the calls that took
+     * between 2^(b-1) and 2^b - 1 nanoseconds.
+     */
+    public static final int BUCKETS = 64;
+
+    //private members: the measurements of each operation, indexed by its ordinal,
+    //and the size and height of the index when the snapshot was taken
+    private final long[] counts;
+    private final long[] totalNanos;
+    private final long[] maxNanos;
+    private final long[][] histograms;
+    private final long[] depthSamples;
+    private final long[] totalDepth;
+    private final int size;
+    private final int height;
+
+    /**
+     * Creates a snapshot from measurements that are not shared with anything
+     * else (the arrays are not copied).
+     */
+    IndexMetrics(long[] counts, long[] totalNanos, long[] maxNanos, long[][] histograms,
+                 long[] depthSamples, long[] totalDepth, int size, int height)
+    {
+        this.counts = counts;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histograms = histograms;
+        this.depthSamples = depthSamples;
+        this.totalDepth = totalDepth;
+        this.size = size;
+        this.height = height;
+    }
+
+    /**
+     * Returns the histogram bucket of a call that took the given time.
+     *
+     * @param nanos running time of a call
+     * @return the bucket in which the call is counted
+     */
+    static int bucket(long nanos)
+    {
+        if(nanos <= 0)
+            return 0;
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Returns the number of calls of the operation.
+     *
+     * @param op the operation
+     * @return number of calls
+     */
+    public long count(Operation op)
+    {
+        return counts[op.ordinal()];
+    }
+
+    /**
+     * Returns the total running time of all the calls of the operation.
+     *
+     * @param op the operation
+     * @return total running time in nanoseconds
+     */
+    public long totalNanos(Operation op)
+    {
+        return totalNanos[op.ordinal()];
+    }
+
+    /**
+     * Returns the average running time of a call of the operation.
+     *
+     * @param op the operation
+     * @return average running time in nanoseconds, or 0 if there were no calls
+     */
+    public double meanNanos(Operation op)
+    {
+        long count = counts[op.ordinal()];
+        return (count == 0) ? 0 : (double) totalNanos[op.ordinal()] / count;
+    }
+
+    /**
+     * Returns the running time of the slowest call of the operation.
+     *
+     * @param op the operation
+     * @return the longest running time in nanoseconds, or 0 if there were no calls
+     */
+    public long maxNanos(Operation op)
+    {
+        return maxNanos[op.ordinal()];
+    }
+
+    /**
+     * Returns a running time that is at least as long as the given fraction
+     * of the calls of the operation: the upper end of the histogram bucket in
+     * which that fraction of the calls is reached.
+     *
+     * @param op       the operation
+     * @param fraction fraction of the calls, between 0 and 1 (0.99 for the
+     *                 99th percentile)
+     * @return the percentile in nanoseconds, or 0 if there were no calls
+     * @throws IllegalArgumentException if fraction is not between 0 and 1
+     */
+    public long percentileNanos(Operation op, double fraction)
+    {
+        if(!(fraction >= 0 && fraction <= 1))
+            throw new IllegalArgumentException("Fraction must be between 0 and 1.");
+
+        long count = counts[op.ordinal()];
+        if(count == 0)
+            return 0;
+        long[] histogram = histograms[op.ordinal()];
+        long needed = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for(int b = 0; b < BUCKETS; b++){
+            seen += histogram[b];
+            if(seen >= needed)
+                return Math.min(upperBound(b), maxNanos[op.ordinal()]);
+        }
+        return maxNanos[op.ordinal()];
+    }
+
+    private static long upperBound(int bucket)
+    {
+        return (bucket >= 63) ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Returns a copy of the latency histogram of the operation; see BUCKETS
+     * for the range of running times counted in each bucket.
+     *
+     * @param op the operation
+     * @return number of calls in each bucket
+     */
+    public long[] histogram(Operation op)
+    {
+        return histograms[op.ordinal()].clone();
+    }
+
+    /**
+     * Returns the average number of nodes examined by a call of the operation,
+     * as reported by MeasurableIndex.searchDepth().
+     *
+     * @param op the operation
+     * @return average search depth, or -1 if it has not been measured
+     */
+    public double meanDepth(Operation op)
+    {
+        long samples = depthSamples[op.ordinal()];
+        return (samples == 0) ? -1 : (double) totalDepth[op.ordinal()] / samples;
+    }
+
+    /**
+     * Returns the number of words stored in the index when the snapshot was taken.
+     *
+     * @return size of the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns the height of the index when the snapshot was taken.
+     *
+     * @return the height reported by MeasurableIndex.height(), or -1 if the
+     *         index does not report it
+     */
+    public int height()
+    {
+        return height;
+    }
+
+    /**
+     * Returns a table with one line for each operation that has been called,
+     * followed by the size and height of the index.
+     *
+     * @return a string representation of this snapshot
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder();
+        to_return.append(String.format("%-8s%12s%12s%12s%12s%12s%12s%n", "op", "count", "mean ns",
+                                       "p50 ns", "p99 ns", "max ns", "mean depth"));
+        for(Operation op : Operation.values()){
+            if(count(op) == 0)
+                continue;
+            to_return.append(String.format("%-8s%12d%12.1f%12d%12d%12d", op.name().toLowerCase(),
+                                           count(op), meanNanos(op), percentileNanos(op, 0.5),
+                                           percentileNanos(op, 0.99), maxNanos(op)));
+            if(meanDepth(op) < 0)
+                to_return.append(String.format("%12s%n", "-"));
+            else
+                to_return.append(String.format("%12.2f%n", meanDepth(op)));
+        }
+        to_return.append("size ").append(size);
+        if(height >= 0)
+            to_return.append(", height ").append(height);
+        to_return.append(System.lineSeparator());
+        return to_return.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package project5;
+
+/**
+ * Static helper methods shared by the Index implementations.
+ *
+ * @version October 18, 2026
+ */
+final class Indexes {
+
+    private Indexes() {
+    }
+
+    /**
+     * Returns a hash code for index that is consistent with the equals() method
+     * of the Index implementations: two indexes holding the same words with the
+     * same counts, iterated in the same order, have the same hash code whatever
+     * their classes are. It takes O(n) time, like equals().
+     *
+     * @param index the index whose hash code should be computed
+     * @return the hash code of the words and counts of index in iteration order
+     */
+    static int hashCode(Index index) {
+        int hash = 1;
+        for (Word word : index)
+            hash = 31 * (31 * hash + word.getWord().hashCode()) + word.getCount();
+        return hash;
+    }
+
+}
@@ -0,0 +1,303 @@
+package project5;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An Index that passes every call on to another index and measures it: the
+ * number of calls of add(), get() and remove(), a histogram of their running
+ * times and, if the other index is a MeasurableIndex, the number of nodes each
+ * call had to walk through. The measurements are read with snapshot().
+ *
+ * The other index is not changed in any way, so an index that is not wrapped
+ * runs without any overhead; measuring is switched on by wrapping the index
+ * and off by using the index directly. Measuring the depth of every call runs
+ * an extra search after (or, for remove(), before) the call, outside of the
+ * timed part; it can be switched off when only the running times are needed.
+ *
+ * The measurements may be updated by several threads at the same time if the
+ * other index allows it. Words removed through the iterator or by pruneBelow()
+ * are not counted as calls of remove().
+ *
+ * @version October 18, 2026
+ *
+ */
+public class InstrumentedIndex implements PrunableIndex, Iterable<Word>
+{
+    private static final int OPERATIONS = IndexMetrics.Operation.values().length;
+
+    //private members: the index being measured, whether the depth of its
+    //searches is measured, and the measurements of each operation, indexed
+    //by its ordinal
+    private final Index index;
+    private final boolean measureDepth;
+    private final LongAdder[] counts;
+    private final LongAdder[] totalNanos;
+    private final LongAccumulator[] maxNanos;
+    private final LongAdder[][] histograms;
+    private final LongAdder[] depthSamples;
+    private final LongAdder[] totalDepth;
+
+    /**
+     * Creates a wrapper that measures the running time of every call to index
+     * and, if index is a MeasurableIndex, the depth of its searches.
+     *
+     * @param index the index to be measured
+     * @throws IllegalArgumentException if index is null
+     */
+    public InstrumentedIndex(Index index)
+    {
+        this(index, true);
+    }
+
+    /**
+     * Creates a wrapper that measures the running time of every call to index.
+     *
+     * @param index        the index to be measured
+     * @param measureDepth true if the depth of every search should be measured
+     *                     as well (only possible if index is a MeasurableIndex)
+     * @throws IllegalArgumentException if index is null
+     */
+    public InstrumentedIndex(Index index, boolean measureDepth)
+    {
+        if(index == null)
+            throw new IllegalArgumentException("Index cannot be null.");
+        this.index = index;
+        this.measureDepth = measureDepth && (index instanceof MeasurableIndex);
+
+        counts = new LongAdder[OPERATIONS];
+        totalNanos = new LongAdder[OPERATIONS];
+        maxNanos = new LongAccumulator[OPERATIONS];
+        histograms = new LongAdder[OPERATIONS][IndexMetrics.BUCKETS];
+        depthSamples = new LongAdder[OPERATIONS];
+        totalDepth = new LongAdder[OPERATIONS];
+        for(int op = 0; op < OPERATIONS; op++){
+            counts[op] = new LongAdder();
+            totalNanos[op] = new LongAdder();
+            maxNanos[op] = new LongAccumulator(Math::max, 0);
+            for(int b = 0; b < IndexMetrics.BUCKETS; b++)
+                histograms[op][b] = new LongAdder();
+            depthSamples[op] = new LongAdder();
+            totalDepth[op] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the index whose calls are measured.
+     *
+     * @return the wrapped index
+     */
+    public Index getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Adds the word to the wrapped index and measures the call.
+     *
+     * @param word the word to be added
+     */
+    public void add(String word)
+    {
+        long start = System.nanoTime();
+        index.add(word);
+        record(IndexMetrics.Operation.ADD, System.nanoTime() - start);
+
+        //the depth at which the word is stored now
+        if(measureDepth)
+            recordDepth(IndexMetrics.Operation.ADD, word);
+    }
+
+    /**
+     * Returns the count of the word in the wrapped index and measures the call.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        long start = System.nanoTime();
+        int count = index.get(word);
+        record(IndexMetrics.Operation.GET, System.nanoTime() - start);
+
+        if(measureDepth)
+            recordDepth(IndexMetrics.Operation.GET, word);
+        return count;
+    }
+
+    /**
+     * Removes the word from the wrapped index and measures the call.
+     *
+     * @param word the word to be removed
+     */
+    public void remove(String word)
+    {
+        //the depth of the word has to be measured while it is still there
+        if(measureDepth)
+            recordDepth(IndexMetrics.Operation.REMOVE, word);
+
+        long start = System.nanoTime();
+        index.remove(word);
+        record(IndexMetrics.Operation.REMOVE, System.nanoTime() - start);
+    }
+
+    private void record(IndexMetrics.Operation op, long nanos)
+    {
+        int i = op.ordinal();
+        counts[i].increment();
+        totalNanos[i].add(nanos);
+        maxNanos[i].accumulate(nanos);
+        histograms[i][IndexMetrics.bucket(nanos)].increment();
+    }
+
+    private void recordDepth(IndexMetrics.Operation op, String word)
+    {
+        // null and blank words are rejected or ignored before any search,
+        // other words are stored in lower case without surrounding white space
+        if(word == null || word.trim().isEmpty())
+            return;
+        int i = op.ordinal();
+        depthSamples[i].increment();
+        totalDepth[i].add(((MeasurableIndex) index).searchDepth(word.toLowerCase().trim()));
+    }
+
+    /**
+     * Removes every Word object whose count is smaller than minCount from the
+     * wrapped index, in a single pass if it is a PrunableIndex.
+     *
+     * @param minCount smallest count of the words that should remain in the index
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        if(index instanceof PrunableIndex)
+            return ((PrunableIndex) index).pruneBelow(minCount);
+
+        int removed = 0;
+        Iterator<Word> it = index.iterator();
+        while(it.hasNext()){
+            if(it.next().getCount() < minCount){
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of unique words stored in the wrapped index.
+     *
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return index.size();
+    }
+
+    /**
+     * Returns the measurements taken since this wrapper was created or last reset,
+     * together with the current size and height of the wrapped index.
+     *
+     * @return a snapshot of the measurements
+     */
+    public IndexMetrics snapshot()
+    {
+        long[] snapshotCounts = new long[OPERATIONS];
+        long[] snapshotTotalNanos = new long[OPERATIONS];
+        long[] snapshotMaxNanos = new long[OPERATIONS];
+        long[][] snapshotHistograms = new long[OPERATIONS][IndexMetrics.BUCKETS];
+        long[] snapshotDepthSamples = new long[OPERATIONS];
+        long[] snapshotTotalDepth = new long[OPERATIONS];
+        for(int op = 0; op < OPERATIONS; op++){
+            snapshotCounts[op] = counts[op].sum();
+            snapshotTotalNanos[op] = totalNanos[op].sum();
+            snapshotMaxNanos[op] = maxNanos[op].get();
+            for(int b = 0; b < IndexMetrics.BUCKETS; b++)
+                snapshotHistograms[op][b] = histograms[op][b].sum();
+            snapshotDepthSamples[op] = depthSamples[op].sum();
+            snapshotTotalDepth[op] = totalDepth[op].sum();
+        }
+        int height = (index instanceof MeasurableIndex) ? ((MeasurableIndex) index).height() : -1;
+        return new IndexMetrics(snapshotCounts, snapshotTotalNanos, snapshotMaxNanos, snapshotHistograms,
+                                snapshotDepthSamples, snapshotTotalDepth, index.size(), height);
+    }
+
+    /**
+     * Discards all measurements taken so far.
+     */
+    public void reset()
+    {
+        for(int op = 0; op < OPERATIONS; op++){
+            counts[op].reset();
+            totalNanos[op].reset();
+            maxNanos[op].reset();
+            for(int b = 0; b < IndexMetrics.BUCKETS; b++)
+                histograms[op][b].reset();
+            depthSamples[op].reset();
+            totalDepth[op].reset();
+        }
+    }
+
+    /**
+     * Returns the string representation of the wrapped index.
+     *
+     * @return a string representation of the wrapped index
+     */
+    @Override
+    public String toString()
+    {
+        return index.toString();
+    }
+
+    /**
+     * Two indexes are equal if they contain the same Word objects in the
+     * same order, whether or not they are wrapped.
+     *
+     * @param o the object to compare with this index
+     * @return true if o is an index with the same Word objects as the wrapped index
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if(o == this)
+            return true;
+        if(!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> this_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+        while(this_iterator.hasNext() && other_iterator.hasNext()){
+            if(!this_iterator.next().equals(other_iterator.next()))
+                return false;
+        }
+        return !this_iterator.hasNext() && !other_iterator.hasNext();
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * Returns the iterator of the wrapped index; its calls are not measured.
+     *
+     * @return an iterator over the Word objects of the wrapped index
+     */
+    @Override
+    public Iterator<Word> iterator()
+    {
+        return index.iterator();
+    }
+}
@@ -0,0 +1,516 @@
+package project5;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is a read-only index backed by a file written by save(). The file is
+ * memory-mapped when the index is constructed and get() and the iterators read
+ * the words straight from it, so a saved index is ready to be queried as soon
+ * as it is opened, no matter how many words it contains.
+ * It implements Index interface and Iterable interface.
+ *
+ * The file consists of a header, the words in blocks and a block index:
+ * <ul>
+ * <li>header: the int values MAGIC, VERSION, number of words, number of words
+ *     per block and number of blocks,</li>
+ * <li>words: in increasing order of their UTF-8 bytes, each stored as the number
+ *     of leading bytes it shares with the previous word, the number of the
+ *     remaining bytes, those bytes and the count. All numbers are varints (seven
+ *     bits per byte, lowest bits first, the high bit set on all but the last byte).
+ *     The first word of every block shares no bytes, so decoding can start at
+ *     any block,</li>
+ * <li>block index: the int offset in the file of the first word of every block.</li>
+ * </ul>
+ * get() finds the block by binary search over the first words of the blocks
+ * and then decodes at most one block.
+ *
+ * Words made of characters outside of the Basic Multilingual Plane would be
+ * ordered differently by their bytes and by String.compareTo(), so save()
+ * refuses to write an index in which the two orders do not agree.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class MappedIndex implements RangeIndex, Iterable<Word>
+{
+    //"FWIX" in ASCII
+    private static final int MAGIC = 0x46574958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    private static final int BLOCK_SIZE = 64;
+
+    //private members: the mapped file, the number of words, the number of
+    //words per block, the number of blocks and the offset of the block index
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int blockSize;
+    private final int blockCount;
+    private final int blockIndex;
+
+    /**
+     * Opens an index saved by save() and maps it into memory. Only the header
+     * is read; the words are read when they are needed.
+     *
+     * @param fileName name of the file written by save()
+     * @throws IOException if the file cannot be read or is not a saved index
+     */
+    public MappedIndex(String fileName) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){
+            if(channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Not a saved index: " + fileName);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if(buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a saved index: " + fileName);
+        if(buffer.getInt(4) != VERSION)
+            throw new IOException("Unsupported index version " + buffer.getInt(4) + ": " + fileName);
+
+        size = buffer.getInt(8);
+        blockSize = buffer.getInt(12);
+        blockCount = buffer.getInt(16);
+        blockIndex = buffer.capacity() - 4 * blockCount;
+        if(size < 0 || blockSize <= 0 || blockCount != (size + blockSize - 1) / blockSize
+                || blockIndex < HEADER_SIZE)
+            throw new IOException("Corrupted index file: " + fileName);
+    }
+
+    /**
+     * Writes the words of index and their counts to a file that can be opened
+     * with the MappedIndex constructor. The index is traversed once.
+     *
+     * @param index index to be saved
+     * @param fileName name of the file to be written (it is replaced if it exists)
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the index is null or its words are not
+     *         in increasing order of their UTF-8 bytes
+     * @throws IllegalStateException if the index changes while it is being saved
+     */
+    public static void save(Index index, String fileName) throws IOException
+    {
+        if(index == null)
+            throw new IllegalArgumentException("Index to be saved cannot be null.");
+
+        int words = index.size();
+        int blocks = (words + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] offsets = new int[blocks];
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(Paths.get(fileName)), 64 * 1024))){
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(words);
+            out.writeInt(BLOCK_SIZE);
+            out.writeInt(blocks);
+
+            byte[] previous = new byte[0];
+            int written = 0;
+            for(Word word : index){
+                if(written == words)
+                    throw new IllegalStateException("Index changed while being saved.");
+
+                byte[] key = word.getWord().getBytes(StandardCharsets.UTF_8);
+                if(written > 0 && compareBytes(previous, previous.length, key, key.length) >= 0)
+                    throw new IllegalArgumentException("Words are not in increasing order of their bytes: "
+                                                       + word.getWord());
+
+                int shared = 0;
+                if(written % BLOCK_SIZE == 0){
+                    // DataOutputStream.size() stops at Integer.MAX_VALUE
+                    if(out.size() == Integer.MAX_VALUE)
+                        throw new IOException("Index is too large to be saved.");
+                    offsets[written / BLOCK_SIZE] = out.size();
+                }
+                else{
+                    int limit = Math.min(previous.length, key.length);
+                    while(shared < limit && previous[shared] == key[shared])
+                        shared++;
+                }
+
+                writeVarint(out, shared);
+                writeVarint(out, key.length - shared);
+                out.write(key, shared, key.length - shared);
+                writeVarint(out, word.getCount());
+
+                previous = key;
+                written++;
+            }
+            if(written != words)
+                throw new IllegalStateException("Index changed while being saved.");
+
+            for(int offset : offsets)
+                out.writeInt(offset);
+            if(out.size() == Integer.MAX_VALUE)
+                throw new IOException("Index is too large to be saved.");
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException
+    {
+        while((value & ~0x7F) != 0){
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Compares the first length1 bytes of b1 with the first length2 bytes of b2
+     * as unsigned numbers, in the same way as String.compareTo() compares characters.
+     */
+    private static int compareBytes(byte[] b1, int length1, byte[] b2, int length2)
+    {
+        int limit = Math.min(length1, length2);
+        for(int i = 0; i < limit; i++){
+            int cmp = (b1[i] & 0xFF) - (b2[i] & 0xFF);
+            if(cmp != 0)
+                return cmp;
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * Returns the offset of the first word of the given block.
+     */
+    private int blockOffset(int block)
+    {
+        return buffer.getInt(blockIndex + 4 * block);
+    }
+
+    /**
+     * Compares the first word of the given block with key.
+     */
+    private int compareFirstWord(int block, byte[] key)
+    {
+        Cursor cursor = new Cursor(block);
+        cursor.peek();
+        return compareBytes(cursor.key, cursor.keyLength, key, key.length);
+    }
+
+    /**
+     * Returns a cursor positioned at the first word that is equal to or larger
+     * than key, found by binary search over the blocks and a scan of one block.
+     *
+     * @param key UTF-8 bytes of the word to search for
+     * @return cursor whose next word is the first word not smaller than key
+     */
+    private Cursor seek(byte[] key)
+    {
+        // the last block whose first word is not larger than key
+        int low = 0;
+        int high = blockCount - 1;
+        int block = 0;
+        while(low <= high){
+            int middle = (low + high) >>> 1;
+            if(compareFirstWord(middle, key) <= 0){
+                block = middle;
+                low = middle + 1;
+            }
+            else
+                high = middle - 1;
+        }
+
+        Cursor cursor = new Cursor(block);
+        while(cursor.hasNext()){
+            cursor.peek();
+            if(compareBytes(cursor.key, cursor.keyLength, key, key.length) >= 0)
+                break;
+            cursor.skip();
+        }
+        return cursor;
+    }
+
+    /**
+     * Reads the words of the file in order, starting at a given block.
+     * peek() decodes the next word into key and count without consuming it,
+     * skip() consumes it.
+     */
+    private class Cursor
+    {
+        int position;
+        int wordNumber;
+        byte[] key = new byte[32];
+        int keyLength = 0;
+        int count;
+        boolean peeked = false;
+        int nextPosition;
+
+        Cursor(int block)
+        {
+            if(block < blockCount)
+                position = blockOffset(block);
+            wordNumber = block * blockSize;
+        }
+
+        boolean hasNext()
+        {
+            return wordNumber < size;
+        }
+
+        void peek()
+        {
+            if(peeked)
+                return;
+            int saved = position;
+            int shared = readVarint();
+            int length = readVarint();
+            if(key.length < shared + length)
+                key = Arrays.copyOf(key, Math.max(shared + length, 2 * key.length));
+            buffer.get(position, key, shared, length);
+            position += length;
+            keyLength = shared + length;
+            count = readVarint();
+            nextPosition = position;
+            position = saved;
+            peeked = true;
+        }
+
+        void skip()
+        {
+            peek();
+            position = nextPosition;
+            wordNumber++;
+            peeked = false;
+        }
+
+        int readVarint()
+        {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do{
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while(b < 0);
+            return value;
+        }
+
+        String word()
+        {
+            return new String(key, 0, keyLength, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Saved indexes cannot be modified.
+     *
+     * @param word ignored
+     * @throws UnsupportedOperationException always
+     */
+    public void add(String word)
+    {
+        throw new UnsupportedOperationException("A saved index cannot be modified.");
+    }
+
+    /**
+     * Saved indexes cannot be modified.
+     *
+     * @param word ignored
+     * @throws UnsupportedOperationException always
+     */
+    public void remove(String word)
+    {
+        throw new UnsupportedOperationException("A saved index cannot be modified.");
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the index. This takes O(log n) time for the binary search over
+     * the blocks and decodes at most one block.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty() || size == 0)
+            return -1;
+
+        byte[] key = word.toLowerCase().trim().getBytes(StandardCharsets.UTF_8);
+        Cursor cursor = seek(key);
+        if(!cursor.hasNext())
+            return -1;
+        cursor.peek();
+        if(compareBytes(cursor.key, cursor.keyLength, key, key.length) != 0)
+            return -1;
+        return cursor.count;
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns a string representation of this index in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this index
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this index with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this index
+     * @return true if the specified object is equal to this index, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> this_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(this_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = this_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * An iterator that decodes the words of the file one at a time, in
+     * alphabetical order, creating a new Word object for each of them.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove(), but
+     * remove() is not supported.
+     */
+    private class FileIterator implements Iterator<Word>
+    {
+        private Cursor cursor;
+        //UTF-8 bytes of the word at which the iteration stops, or null
+        private byte[] to;
+
+        /*
+         * Constructs a new iterator over the words that are at least from and
+         * smaller than to. Either bound may be null.
+         */
+        public FileIterator(String from, String to){
+            if(from == null)
+                cursor = new Cursor(0);
+            else
+                cursor = seek(from.getBytes(StandardCharsets.UTF_8));
+            this.to = (to == null) ? null : to.getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         */
+        @Override
+        public boolean hasNext(){
+            if(!cursor.hasNext())
+                return false;
+            if(to == null)
+                return true;
+            cursor.peek();
+            return compareBytes(cursor.key, cursor.keyLength, to, to.length) < 0;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            if (!hasNext())
+                throw new NoSuchElementException("End of the list reached.");
+            cursor.peek();
+            Word word = new Word(cursor.word(), cursor.count);
+            cursor.skip();
+            return word;
+        }
+
+        /**
+         * Saved indexes cannot be modified.
+         *
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void remove(){
+            throw new UnsupportedOperationException("A saved index cannot be modified.");
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the index in alphabetical order.
+     *
+     * @return an iterator over the elements in the index
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new FileIterator(null, null);
+    }
+
+    /**
+     * Returns an iterator over the words that are at least from and smaller
+     * than to, in alphabetical order. The first word is found in the same way
+     * as by get().
+     *
+     * @param from smallest word to be returned, or null for no lower bound
+     * @param to   word at which the iteration stops, or null for no upper bound
+     * @return an iterator over the words in the range
+     */
+    public Iterator<Word> range(String from, String to) {
+        return new FileIterator(RangeIndex.normalizeBound(from), RangeIndex.normalizeBound(to));
+    }
+}
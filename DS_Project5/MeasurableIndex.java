@@ -0,0 +1,31 @@
+package project5;
+
+/**
+ * An Index that can report how much of its structure an operation has to
+ * walk through, so that the cost of its operations can be measured without
+ * timing them.
+ *
+ * @version October 18, 2026
+ */
+public interface MeasurableIndex extends Index {
+
+    /**
+     * Returns the number of nodes that get(word) examines before it returns:
+     * the depth of the node storing word in a tree, or the position of word
+     * in a list. If word is not stored in the index, this is the number of
+     * nodes examined before the search gives up.
+     *
+     * @param word the word to search for
+     * @return number of nodes examined by a search for word
+     */
+    int searchDepth(String word);
+
+    /**
+     * Returns the largest number of nodes that a single search may have to
+     * examine: the height of a tree, or the length of a list.
+     *
+     * @return the length of the longest search path in the index
+     */
+    int height();
+
+}
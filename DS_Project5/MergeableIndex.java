@@ -0,0 +1,75 @@
+package project5;
+
+import java.util.Iterator;
+
+/**
+ * An Index that can absorb the words of another index, adding up the counts
+ * of the words that appear in both. This is used to combine partial counts
+ * produced independently (for example by different threads) into one result.
+ *
+ * @version October 18, 2026
+ */
+public interface MergeableIndex extends Index {
+
+    /**
+     * Adds all the words of other to this index. A word that is already in this
+     * index has its count increased by the count in other, any other word is
+     * added with the count it has in other. The other index is not modified and
+     * no Word object is shared between the two indexes after the merge.
+     *
+     * @param other index whose words should be added to this index
+     * @throws IllegalArgumentException if other is null or is this index
+     */
+    void merge(Index other);
+
+    /**
+     * Merges the words of two indexes, both iterated in alphabetical order, into
+     * a single sorted array in O(n + m) time. Word objects that are only in first
+     * are reused, all the other elements of the array are new Word objects.
+     *
+     * @param first  index whose Word objects may be reused
+     * @param second index whose words and counts are copied
+     * @return array of the words of both indexes in alphabetical order,
+     *         each word appearing once with the sum of its counts
+     */
+    static Word[] mergeSorted(Index first, Index second) {
+        Word[] merged = new Word[first.size() + second.size()];
+        int count = 0;
+
+        Iterator<Word> it1 = first.iterator();
+        Iterator<Word> it2 = second.iterator();
+        Word w1 = it1.hasNext() ? it1.next() : null;
+        Word w2 = it2.hasNext() ? it2.next() : null;
+
+        while (w1 != null || w2 != null) {
+            int cmp;
+            if (w1 == null)
+                cmp = 1;
+            else if (w2 == null)
+                cmp = -1;
+            else
+                cmp = w1.compareTo(w2);
+
+            if (cmp < 0) {
+                merged[count++] = w1;
+                w1 = it1.hasNext() ? it1.next() : null;
+            }
+            else if (cmp > 0) {
+                merged[count++] = new Word(w2.getWord(), w2.getCount());
+                w2 = it2.hasNext() ? it2.next() : null;
+            }
+            else {
+                merged[count++] = new Word(w1.getWord(), w1.getCount() + w2.getCount());
+                w1 = it1.hasNext() ? it1.next() : null;
+                w2 = it2.hasNext() ? it2.next() : null;
+            }
+        }
+
+        if (count == merged.length)
+            return merged;
+        Word[] trimmed = new Word[count];
+        System.arraycopy(merged, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+}
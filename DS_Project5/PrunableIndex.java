@@ -0,0 +1,20 @@
+package project5;
+
+/**
+ * An Index that can drop all of its rare words in a single pass, instead of
+ * removing them one at a time through its iterator.
+ *
+ * @version October 18, 2026
+ */
+public interface PrunableIndex extends Index {
+
+    /**
+     * Removes every Word object whose count is smaller than minCount.
+     * The remaining Word objects stay in sorted order.
+     *
+     * @param minCount smallest count of the words that should remain in the index
+     * @return number of words that have been removed
+     */
+    int pruneBelow(int minCount);
+
+}
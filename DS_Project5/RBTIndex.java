@@ -0,0 +1,772 @@
+package project5;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is an implementation of a red-black tree to store Word objects.
+ * It implements Index interface and Iterable interface.
+ *
+ * Unlike BSTIndex, the tree rebalances itself after every insertion and removal,
+ * so its height never exceeds 2*log(n+1). This keeps add(), get() and remove()
+ * at O(log n) even when the words arrive in sorted or nearly sorted order.
+ *
+ * References taken from Cormen et al., Introduction to Algorithms, chapter 13.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class RBTIndex implements PrunableIndex, MergeableIndex, RangeIndex, MeasurableIndex, Iterable<Word>
+{
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    //Inner class to represent nodes of this tree
+    private class Node
+    {
+        Word data;
+        Node left;
+        Node right;
+        Node parent;
+        boolean color;
+
+        //constructs the sentinel node used in place of null references
+        Node(){
+            this.color = BLACK;
+        }
+
+        Node(String word){
+            this(new Word(word));
+        }
+
+        Node(Word data){
+            if(data == null)
+                throw new NullPointerException ("Does not allow null.");
+            this.data = data;
+            this.left = nil;
+            this.right = nil;
+            this.parent = nil;
+            this.color = RED;
+        }
+    }
+
+    //private members: the sentinel node shared by all leaves, a reference to the
+    //root node and the size of the tree
+    private final Node nil;
+    private Node root;
+    private int size;
+
+    /**
+     * Constructs a new empty red-black tree.
+     * It sets the root to the sentinel node and size to 0.
+     */
+    public RBTIndex()
+    {
+        nil = new Node();
+        nil.left = nil;
+        nil.right = nil;
+        nil.parent = nil;
+        root = nil;
+        size = 0;
+    }
+
+    /**
+     * Adds an item to the index in sorted order. The insertion point is found
+     * iteratively, after which the tree is recolored and rotated as needed to
+     * restore the red-black properties.
+     * If the Word object with the same string already exists, its count is
+     * incremented by one.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        word = word.toLowerCase().trim();
+
+        Node parent = nil;
+        Node current = root;
+        int cmp = 0;
+        while(current != nil){
+            parent = current;
+            cmp = word.compareTo(current.data.getWord());
+            if(cmp < 0)
+                current = current.left;
+            else if(cmp > 0)
+                current = current.right;
+            // if the word is equal to the current node, increment the count
+            else{
+                current.data.incrementCount();
+                return;
+            }
+        }
+
+        Node newNode = new Node(word);
+        newNode.parent = parent;
+        if(parent == nil)
+            root = newNode;
+        else if(cmp < 0)
+            parent.left = newNode;
+        else
+            parent.right = newNode;
+        size++;
+
+        fixAfterInsert(newNode);
+    }
+
+    /**
+     * Removes an item from the tree if it exists, otherwise the tree remains
+     * unchanged. This operation removes the Word object matching the
+     * item regardless of what the count is.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        Node node = findNode(word.toLowerCase().trim());
+        if(node != nil)
+            deleteNode(node);
+    }
+
+    /**
+     * Returns the count of the Word object associated with the given string,
+     * or -1 if such a Word object does not exist.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        Node node = findNode(word.toLowerCase().trim());
+        if(node == nil)
+            return -1;
+        return node.data.getCount();
+    }
+
+    /**
+     * Returns the number of nodes that get(word) visits: the depth of the node
+     * storing word (the root has depth 1), or the length of the path followed
+     * down the tree if the word is not stored in it.
+     *
+     * @param word the word to search for
+     * @return number of nodes examined by a search for word
+     */
+    public int searchDepth(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return 0;
+
+        word = word.toLowerCase().trim();
+        int depth = 0;
+        Node current = root;
+        while(current != nil){
+            depth++;
+            int cmp = word.compareTo(current.data.getWord());
+            if(cmp < 0)
+                current = current.left;
+            else if(cmp > 0)
+                current = current.right;
+            else
+                break;
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes every Word object whose count is smaller than minCount.
+     *
+     * The tree is traversed in order once, the Word objects that should remain
+     * are collected in an array, and a new, perfectly balanced tree is built from
+     * that array. In such a tree every missing child is at one of the two lowest
+     * levels, so coloring the nodes on the lowest level red and all the others
+     * black satisfies the red-black properties. Both steps take O(n) time.
+     *
+     * @param minCount smallest count of the words that should remain in the tree
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        Word[] remaining = new Word[size];
+        int count = 0;
+
+        if(root != nil){
+            for(Node node = minimum(root); node != nil; node = successor(node)){
+                if(node.data.getCount() >= minCount)
+                    remaining[count++] = node.data;
+            }
+        }
+
+        int removed = size - count;
+        rebuild(remaining, count);
+        return removed;
+    }
+
+    /**
+     * Adds all the words of other to this tree, adding up the counts of the
+     * words that appear in both. The words of the two indexes are merged in
+     * alphabetical order into an array, from which a new, balanced tree is
+     * built, so the whole operation takes O(n + m) time.
+     *
+     * @param other index whose words should be added to this tree
+     * @throws IllegalArgumentException if other is null or is this tree
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        if(other.size() == 0)
+            return;
+
+        Word[] merged = MergeableIndex.mergeSorted(this, other);
+        rebuild(merged, merged.length);
+    }
+
+    /**
+     * Replaces the content of this tree with a balanced tree holding the first
+     * count Word objects of the given sorted array.
+     *
+     * @param words sorted array of Word objects
+     * @param count number of elements of the array to be used
+     */
+    private void rebuild(Word[] words, int count)
+    {
+        //depth of the lowest level of the new tree
+        int maxDepth = -1;
+        for(int levels = count; levels > 0; levels /= 2)
+            maxDepth++;
+
+        root = buildBalanced(words, 0, count - 1, 0, maxDepth);
+        root.parent = nil;
+        root.color = BLACK;
+        size = count;
+    }
+
+    /**
+     * Builds a balanced tree out of the Word objects stored in words[low..high]
+     * which are in sorted order: the middle element becomes the root and
+     * the two halves become its subtrees.
+     *
+     * @param words sorted array of Word objects
+     * @param low index of the first element of the range
+     * @param high index of the last element of the range
+     * @param depth depth at which the root of the new subtree is placed
+     * @param maxDepth depth of the lowest level of the whole tree
+     * @return the root of the new subtree, or nil if the range is empty
+     */
+    private Node buildBalanced(Word[] words, int low, int high, int depth, int maxDepth)
+    {
+        if(low > high)
+            return nil;
+
+        int mid = (low + high) >>> 1;
+        Node node = new Node(words[mid]);
+        node.color = (depth == maxDepth && depth > 0) ? RED : BLACK;
+        node.left = buildBalanced(words, low, mid - 1, depth + 1, maxDepth);
+        node.right = buildBalanced(words, mid + 1, high, depth + 1, maxDepth);
+        if(node.left != nil)
+            node.left.parent = node;
+        if(node.right != nil)
+            node.right.parent = node;
+        return node;
+    }
+
+    /**
+     * Returns the height of this tree, that is, the number of nodes on the
+     * longest path from the root to a leaf. An empty tree has height 0.
+     *
+     * @return the height of this tree
+     */
+    public int height()
+    {
+        return height(root);
+    }
+
+    private int height(Node node)
+    {
+        if(node == nil)
+            return 0;
+        return 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Returns the node storing the given (already normalized) word, or the
+     * sentinel node if there is no such node in the tree.
+     *
+     * @param word the word to search for
+     * @return the node containing the word, or nil
+     */
+    private Node findNode(String word)
+    {
+        Node current = root;
+        while(current != nil){
+            int cmp = word.compareTo(current.data.getWord());
+            if(cmp < 0)
+                current = current.left;
+            else if(cmp > 0)
+                current = current.right;
+            else
+                return current;
+        }
+        return nil;
+    }
+
+    /**
+     * Returns the node storing the smallest word that is equal to or larger than
+     * the given (already normalized) word, or the sentinel node if every word in
+     * the tree is smaller.
+     *
+     * @param word the lower bound of the search
+     * @return the first node whose word is not smaller than word, or nil
+     */
+    private Node ceilingNode(String word)
+    {
+        Node current = root;
+        Node ceiling = nil;
+        while(current != nil){
+            if(word.compareTo(current.data.getWord()) <= 0){
+                ceiling = current;
+                current = current.left;
+            }
+            else
+                current = current.right;
+        }
+        return ceiling;
+    }
+
+    /**
+     * Restores the red-black properties after newNode has been inserted as a red leaf.
+     *
+     * @param node the newly inserted node
+     */
+    private void fixAfterInsert(Node node)
+    {
+        while(node.parent.color == RED){
+            Node grandparent = node.parent.parent;
+            if(node.parent == grandparent.left){
+                Node uncle = grandparent.right;
+                // case 1: the uncle is red, recolor and move up
+                if(uncle.color == RED){
+                    node.parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    node = grandparent;
+                }
+                else{
+                    // case 2: node is a right child, rotate it into case 3
+                    if(node == node.parent.right){
+                        node = node.parent;
+                        rotateLeft(node);
+                    }
+                    // case 3: node is a left child, recolor and rotate the grandparent
+                    node.parent.color = BLACK;
+                    node.parent.parent.color = RED;
+                    rotateRight(node.parent.parent);
+                }
+            }
+            // mirror image of the cases above
+            else{
+                Node uncle = grandparent.left;
+                if(uncle.color == RED){
+                    node.parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grandparent.color = RED;
+                    node = grandparent;
+                }
+                else{
+                    if(node == node.parent.left){
+                        node = node.parent;
+                        rotateRight(node);
+                    }
+                    node.parent.color = BLACK;
+                    node.parent.parent.color = RED;
+                    rotateLeft(node.parent.parent);
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+
+    /**
+     * Unlinks the given node from the tree and rebalances it.
+     * When the node has two children, its successor node (not only its data) is
+     * moved into its place, so references to any other node in the tree remain valid.
+     * This is what allows the iterator to keep walking after a removal.
+     *
+     * @param node the node to be removed
+     */
+    private void deleteNode(Node node)
+    {
+        Node moved = node;
+        boolean movedColor = moved.color;
+        Node replacement;
+
+        // case 1: at most one child, splice the node out
+        if(node.left == nil){
+            replacement = node.right;
+            transplant(node, node.right);
+        }
+        else if(node.right == nil){
+            replacement = node.left;
+            transplant(node, node.left);
+        }
+        // case 2: two children, the successor takes the place of the node
+        else{
+            moved = minimum(node.right);
+            movedColor = moved.color;
+            replacement = moved.right;
+            if(moved.parent == node)
+                replacement.parent = moved;
+            else{
+                transplant(moved, moved.right);
+                moved.right = node.right;
+                moved.right.parent = moved;
+            }
+            transplant(node, moved);
+            moved.left = node.left;
+            moved.left.parent = moved;
+            moved.color = node.color;
+        }
+        size--;
+
+        if(movedColor == BLACK)
+            fixAfterDelete(replacement);
+    }
+
+    /**
+     * Restores the red-black properties after a black node has been removed
+     * from the path above node.
+     *
+     * @param node the node that took the place of the removed node
+     */
+    private void fixAfterDelete(Node node)
+    {
+        while(node != root && node.color == BLACK){
+            if(node == node.parent.left){
+                Node sibling = node.parent.right;
+                if(sibling.color == RED){
+                    sibling.color = BLACK;
+                    node.parent.color = RED;
+                    rotateLeft(node.parent);
+                    sibling = node.parent.right;
+                }
+                if(sibling.left.color == BLACK && sibling.right.color == BLACK){
+                    sibling.color = RED;
+                    node = node.parent;
+                }
+                else{
+                    if(sibling.right.color == BLACK){
+                        sibling.left.color = BLACK;
+                        sibling.color = RED;
+                        rotateRight(sibling);
+                        sibling = node.parent.right;
+                    }
+                    sibling.color = node.parent.color;
+                    node.parent.color = BLACK;
+                    sibling.right.color = BLACK;
+                    rotateLeft(node.parent);
+                    node = root;
+                }
+            }
+            // mirror image of the cases above
+            else{
+                Node sibling = node.parent.left;
+                if(sibling.color == RED){
+                    sibling.color = BLACK;
+                    node.parent.color = RED;
+                    rotateRight(node.parent);
+                    sibling = node.parent.left;
+                }
+                if(sibling.right.color == BLACK && sibling.left.color == BLACK){
+                    sibling.color = RED;
+                    node = node.parent;
+                }
+                else{
+                    if(sibling.left.color == BLACK){
+                        sibling.right.color = BLACK;
+                        sibling.color = RED;
+                        rotateLeft(sibling);
+                        sibling = node.parent.left;
+                    }
+                    sibling.color = node.parent.color;
+                    node.parent.color = BLACK;
+                    sibling.left.color = BLACK;
+                    rotateRight(node.parent);
+                    node = root;
+                }
+            }
+        }
+        node.color = BLACK;
+    }
+
+    /**
+     * Replaces the subtree rooted at oldNode with the subtree rooted at newNode.
+     */
+    private void transplant(Node oldNode, Node newNode)
+    {
+        if(oldNode.parent == nil)
+            root = newNode;
+        else if(oldNode == oldNode.parent.left)
+            oldNode.parent.left = newNode;
+        else
+            oldNode.parent.right = newNode;
+        newNode.parent = oldNode.parent;
+    }
+
+    private void rotateLeft(Node node)
+    {
+        Node child = node.right;
+        node.right = child.left;
+        if(child.left != nil)
+            child.left.parent = node;
+        child.parent = node.parent;
+        if(node.parent == nil)
+            root = child;
+        else if(node == node.parent.left)
+            node.parent.left = child;
+        else
+            node.parent.right = child;
+        child.left = node;
+        node.parent = child;
+    }
+
+    private void rotateRight(Node node)
+    {
+        Node child = node.left;
+        node.left = child.right;
+        if(child.right != nil)
+            child.right.parent = node;
+        child.parent = node.parent;
+        if(node.parent == nil)
+            root = child;
+        else if(node == node.parent.right)
+            node.parent.right = child;
+        else
+            node.parent.left = child;
+        child.right = node;
+        node.parent = child;
+    }
+
+    /**
+     * Returns the node with the smallest word in the subtree rooted at node.
+     *
+     * @param node the root of the subtree
+     * @return the leftmost node of the subtree
+     */
+    private Node minimum(Node node)
+    {
+        while(node.left != nil)
+            node = node.left;
+        return node;
+    }
+
+    /**
+     * Returns the in-order successor of the given node, or the sentinel node
+     * if the given node stores the largest word in the tree.
+     *
+     * @param node the node whose successor is to be found
+     * @return the successor of the given node
+     */
+    private Node successor(Node node)
+    {
+        if(node.right != nil)
+            return minimum(node.right);
+
+        Node parent = node.parent;
+        while(parent != nil && node == parent.right){
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Returns a string representation of this tree in the following format:
+     * [count word, count word, ...]
+     *
+     * @return a string representation of this tree
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this tree with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this tree
+     * @return true if the specified object is equal to this tree, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> tree_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(tree_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = tree_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * An iterator class implemented to traverse through the tree in inorder traversal.
+     * It follows parent references to move from each node to its successor, so no
+     * copy of the tree is made and only the next node to be returned is stored.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove().
+     */
+    private class TreeIterator implements Iterator<Word>
+    {
+        private Node nextToReturn;
+        private Node lastReturned;
+        //the word at which the iteration stops, null to continue to the end
+        private String to;
+
+        /*
+         * Constructs a new iterator for this tree positioned at the smallest word.
+         */
+        public TreeIterator(){
+            nextToReturn = (root == nil) ? nil : minimum(root);
+            lastReturned = null;
+            to = null;
+        }
+
+        /*
+         * Constructs a new iterator over the words of this tree that are at least
+         * from and smaller than to. Either bound may be null.
+         */
+        public TreeIterator(String from, String to){
+            if(from == null)
+                nextToReturn = (root == nil) ? nil : minimum(root);
+            else
+                nextToReturn = ceilingNode(from);
+            lastReturned = null;
+            this.to = to;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         */
+        @Override
+        public boolean hasNext(){
+            if(nextToReturn == nil)
+                return false;
+            return to == null || nextToReturn.data.getWord().compareTo(to) < 0;
+        }
+
+        /**
+         * Returns the next element in the iteration and advances the iterator
+         * to the in-order successor of that element.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            if (!hasNext())
+                throw new NoSuchElementException("End of the list reached.");
+            lastReturned = nextToReturn;
+            nextToReturn = successor(nextToReturn);
+            return lastReturned.data;
+        }
+
+        /**
+         * Removes from the underlying tree the last element returned by this iterator.
+         * This method can be called only once per call to next().
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         */
+        @Override
+        public void remove(){
+            if(lastReturned == null)
+                throw new IllegalStateException("next() has not been called yet.");
+
+            deleteNode(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the tree.
+     *
+     * @return an iterator over the elements in the tree
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new TreeIterator();
+    }
+
+    /**
+     * Returns an iterator over the words that are at least from and smaller
+     * than to, in alphabetical order. The first word is found in O(log n) time
+     * and each following word in O(1) amortized time.
+     *
+     * @param from smallest word to be returned, or null for no lower bound
+     * @param to   word at which the iteration stops, or null for no upper bound
+     * @return an iterator over the words in the range
+     */
+    public Iterator<Word> range(String from, String to) {
+        return new TreeIterator(RangeIndex.normalizeBound(from), RangeIndex.normalizeBound(to));
+    }
+}
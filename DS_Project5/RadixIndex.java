@@ -0,0 +1,587 @@
+package project5;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This is an implementation of a compressed trie (radix tree) to store words
+ * and their counts. It implements Index interface and Iterable interface.
+ *
+ * Each edge of the tree is labelled with a sequence of characters and every
+ * word is spelled by the labels on the path from the root to its node, so
+ * words that share a prefix share the nodes (and the characters) of that prefix.
+ * Chains of nodes that have a single child and no word of their own are merged
+ * into one edge. The children of a node are kept sorted by the first character
+ * of their labels, which makes a plain depth-first traversal visit the words in
+ * alphabetical order.
+ *
+ * add(), get() and remove() take time proportional to the length of the word,
+ * independent of the number of words stored. No Word object is kept in the
+ * tree: the iterator creates them as the words are returned.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class RadixIndex implements PrunableIndex, MergeableIndex, RangeIndex, Iterable<Word>
+{
+    //shared by all the nodes without children
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    //Nested class to represent nodes of this tree; it is static (no reference
+    //to the tree) and holds only three fields, since most of the memory used by
+    //the tree goes to its nodes
+    private static class Node
+    {
+        //characters on the edge leading to this node
+        char[] label;
+        //count of the word ending at this node, 0 if no word ends here
+        int count;
+        //children in increasing order of the first characters of their labels
+        Node[] children;
+
+        Node(char[] label, int count)
+        {
+            this.label = label;
+            this.count = count;
+            this.children = NO_CHILDREN;
+        }
+
+        /**
+         * Returns the position of the child whose label starts with c, or
+         * (-(insertion point) - 1) if there is no such child.
+         */
+        int find(char c)
+        {
+            int low = 0;
+            int high = children.length - 1;
+            while(low <= high){
+                int middle = (low + high) >>> 1;
+                char first = children[middle].label[0];
+                if(first < c)
+                    low = middle + 1;
+                else if(first > c)
+                    high = middle - 1;
+                else
+                    return middle;
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int position, Node child)
+        {
+            Node[] new_children = new Node[children.length + 1];
+            System.arraycopy(children, 0, new_children, 0, position);
+            new_children[position] = child;
+            System.arraycopy(children, position, new_children, position + 1, children.length - position);
+            children = new_children;
+        }
+
+        void removeChild(int position)
+        {
+            if(children.length == 1){
+                children = NO_CHILDREN;
+                return;
+            }
+            Node[] new_children = new Node[children.length - 1];
+            System.arraycopy(children, 0, new_children, 0, position);
+            System.arraycopy(children, position + 1, new_children, position, children.length - position - 1);
+            children = new_children;
+        }
+
+        /**
+         * Absorbs the only child of this node, which holds no word of its own,
+         * by appending the label of the child to the label of this node.
+         * This node (and not the child) stays in the tree, so iterators that
+         * still have to visit the child see the same words.
+         */
+        void absorbChild()
+        {
+            Node child = children[0];
+            char[] joined = Arrays.copyOf(label, label.length + child.label.length);
+            System.arraycopy(child.label, 0, joined, label.length, child.label.length);
+            label = joined;
+            count = child.count;
+            children = child.children;
+        }
+    }
+
+    //private members: the root of the tree (its label is empty) and the number
+    //of words stored in the tree
+    private Node root;
+    private int size;
+
+    /**
+     * Constructs a new empty tree.
+     */
+    public RadixIndex()
+    {
+        root = new Node(NO_CHARS, 0);
+        size = 0;
+    }
+
+    /**
+     * Adds an item to the index. If the same word already exists, its count is
+     * incremented by one.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        addCount(word.toLowerCase().trim(), 1);
+    }
+
+    /**
+     * Increases the count of the given (already normalized) word by amount,
+     * inserting the word first if it is not in the tree. A new word either
+     * becomes a new leaf or splits the edge at which it leaves the tree.
+     *
+     * @param word the word to be counted
+     * @param amount the number to be added to its count
+     */
+    private void addCount(String word, int amount)
+    {
+        Node node = root;
+        int pos = 0;
+
+        while(pos < word.length()){
+            int position = node.find(word.charAt(pos));
+            if(position < 0){
+                node.insertChild(-position - 1, new Node(word.substring(pos).toCharArray(), amount));
+                size++;
+                return;
+            }
+
+            Node child = node.children[position];
+            int common = commonLength(child.label, word, pos);
+            if(common < child.label.length){
+                // split the edge: the first common characters go to a new node
+                // that takes the place of child, and child keeps the rest
+                Node middle = new Node(Arrays.copyOf(child.label, common), 0);
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.children = new Node[] { child };
+                node.children[position] = middle;
+                child = middle;
+            }
+            node = child;
+            pos += common;
+        }
+
+        if(node.count == 0)
+            size++;
+        node.count += amount;
+    }
+
+    /**
+     * Returns the number of leading characters of label that are equal to
+     * the characters of word starting at pos.
+     */
+    private static int commonLength(char[] label, String word, int pos)
+    {
+        int limit = Math.min(label.length, word.length() - pos);
+        int i = 0;
+        while(i < limit && label[i] == word.charAt(pos + i))
+            i++;
+        return i;
+    }
+
+    /**
+     * Returns the node at which the given (already normalized) word ends,
+     * or null if the word is not spelled by any path of the tree.
+     */
+    private Node findNode(String word)
+    {
+        Node node = root;
+        int pos = 0;
+        while(pos < word.length()){
+            int position = node.find(word.charAt(pos));
+            if(position < 0)
+                return null;
+            node = node.children[position];
+            if(commonLength(node.label, word, pos) < node.label.length)
+                return null;
+            pos += node.label.length;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the tree.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        Node node = findNode(word.toLowerCase().trim());
+        if(node == null || node.count == 0)
+            return -1;
+        return node.count;
+    }
+
+    /**
+     * Removes an item from the tree if it exists, otherwise the tree remains
+     * unchanged. This operation removes the word regardless of what the count is.
+     * Nodes that are left without a word and with fewer than two children are
+     * removed or merged with their only child, so the tree stays compressed.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        word = word.toLowerCase().trim();
+
+        Node parent = null;
+        Node node = root;
+        int position = -1;
+        int pos = 0;
+        while(pos < word.length()){
+            int next = node.find(word.charAt(pos));
+            if(next < 0)
+                return;
+            Node child = node.children[next];
+            if(commonLength(child.label, word, pos) < child.label.length)
+                return;
+            parent = node;
+            node = child;
+            position = next;
+            pos += child.label.length;
+        }
+
+        if(node == root || node.count == 0)
+            return;
+
+        node.count = 0;
+        size--;
+
+        if(node.children.length == 0){
+            parent.removeChild(position);
+            node = parent;
+        }
+        if(node != root && node.count == 0 && node.children.length == 1)
+            node.absorbChild();
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes every word whose count is smaller than minCount.
+     * Every node is visited once, children before their parent, so that empty
+     * branches can be dropped and single-child chains merged on the way up.
+     *
+     * @param minCount smallest count of the words that should remain in the tree
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        int before = size;
+        prune(root, minCount);
+        return before - size;
+    }
+
+    /**
+     * Prunes the subtree rooted at node (the recursion is as deep as the
+     * longest word, not as the number of words).
+     *
+     * @return true if the node holds no word and no children any more
+     */
+    private boolean prune(Node node, int minCount)
+    {
+        if(node.count > 0 && node.count < minCount){
+            node.count = 0;
+            size--;
+        }
+
+        for(int i = node.children.length - 1; i >= 0; i--){
+            if(prune(node.children[i], minCount))
+                node.removeChild(i);
+        }
+
+        if(node == root)
+            return false;
+        if(node.count == 0 && node.children.length == 1)
+            node.absorbChild();
+        return node.count == 0 && node.children.length == 0;
+    }
+
+    /**
+     * Adds all the words of other to this tree, adding up the counts of the
+     * words that appear in both. Each word takes time proportional to its length.
+     *
+     * @param other index whose words should be added to this tree
+     * @throws IllegalArgumentException if other is null or is this tree
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        for(Word word : other)
+            addCount(word.getWord(), word.getCount());
+    }
+
+    /**
+     * Returns a string representation of this tree in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this tree
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Iterator<Word> it = this.iterator();
+        while(it.hasNext()){
+            to_return.append(it.next());
+            if(it.hasNext())
+                to_return.append(", ");
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this tree with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this tree
+     * @return true if the specified object is equal to this tree, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> tree_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(tree_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = tree_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * An iterator that performs a depth-first traversal of the tree, visiting
+     * the children of every node in increasing order. The characters on the
+     * path to the current node are kept in a single StringBuilder; every node
+     * still to be visited is stored on a stack together with the length of the
+     * path to its parent. Each call to next() returns a new Word object.
+     *
+     * The iterator has three methods: hasNext(), next(), and remove().
+     */
+    private class TreeIterator implements Iterator<Word>
+    {
+        //a node still to be visited and the length of the path to its parent
+        private class Frame
+        {
+            Node node;
+            int depth;
+
+            Frame(Node node, int depth){
+                this.node = node;
+                this.depth = depth;
+            }
+        }
+
+        private ArrayDeque<Frame> stack;
+        private StringBuilder path;
+        //the word at which the iteration stops, null to continue to the end
+        private String to;
+        private Word nextToReturn;
+        private Word lastReturned;
+
+        /*
+         * Constructs a new iterator over the words of this tree that are at least
+         * from and smaller than to. Either bound may be null.
+         */
+        public TreeIterator(String from, String to){
+            stack = new ArrayDeque<>();
+            path = new StringBuilder();
+            this.to = to;
+            lastReturned = null;
+            if(from == null)
+                stack.push(new Frame(root, 0));
+            else
+                seekFrom(from);
+            nextToReturn = advance();
+        }
+
+        /**
+         * Fills the stack with the nodes whose subtrees hold exactly the words
+         * that are equal to or larger than from, following the single path of
+         * the tree that spells from (or its longest prefix).
+         *
+         * @param from the smallest word to be returned
+         */
+        private void seekFrom(String from){
+            Node node = root;
+            int pos = 0;
+            while(true){
+                if(pos == from.length()){
+                    // node and everything below it are at least from
+                    stack.push(new Frame(node, path.length() - node.label.length));
+                    return;
+                }
+
+                int position = node.find(from.charAt(pos));
+                int first_larger = (position < 0) ? -position - 1 : position + 1;
+                // the children after the matching one are larger than from
+                for(int i = node.children.length - 1; i >= first_larger; i--)
+                    stack.push(new Frame(node.children[i], path.length()));
+                if(position < 0)
+                    return;
+
+                Node child = node.children[position];
+                int common = commonLength(child.label, from, pos);
+                if(common == child.label.length){
+                    path.append(child.label);
+                    node = child;
+                    pos += common;
+                    continue;
+                }
+                // from ends within the label, or the label leaves from at a larger character
+                if(pos + common == from.length() || child.label[common] > from.charAt(pos + common))
+                    stack.push(new Frame(child, path.length()));
+                return;
+            }
+        }
+
+        /**
+         * Visits nodes until one holding a word is found.
+         *
+         * @return the next word of the traversal, or null if there are no more words
+         */
+        private Word advance(){
+            while(!stack.isEmpty()){
+                Frame frame = stack.pop();
+                Node node = frame.node;
+                path.setLength(frame.depth);
+                path.append(node.label);
+                for(int i = node.children.length - 1; i >= 0; i--)
+                    stack.push(new Frame(node.children[i], path.length()));
+
+                if(node.count > 0){
+                    String word = path.toString();
+                    if(to != null && word.compareTo(to) >= 0){
+                        stack.clear();
+                        return null;
+                    }
+                    return new Word(word, node.count);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns true if the iteration has more elements.
+         */
+        @Override
+        public boolean hasNext(){
+            return nextToReturn != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @throws NoSuchElementException if the iteration has no more elements
+         * @return the next element in the iteration
+         */
+        @Override
+        public Word next(){
+            if (!hasNext())
+                throw new NoSuchElementException("End of the list reached.");
+            lastReturned = nextToReturn;
+            nextToReturn = advance();
+            return lastReturned;
+        }
+
+        /**
+         * Removes from the underlying tree the last element returned by this iterator.
+         * This method can be called only once per call to next().
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         */
+        @Override
+        public void remove(){
+            if(lastReturned == null)
+                throw new IllegalStateException("next() has not been called yet.");
+
+            RadixIndex.this.remove(lastReturned.getWord());
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the tree in alphabetical order.
+     *
+     * @return an iterator over the elements in the tree
+     */
+    @Override
+    public Iterator<Word> iterator() {
+        return new TreeIterator(null, null);
+    }
+
+    /**
+     * Returns an iterator over the words that are at least from and smaller
+     * than to, in alphabetical order. The iterator follows the path spelling
+     * from down the tree, so it starts in time proportional to the length of from.
+     *
+     * @param from smallest word to be returned, or null for no lower bound
+     * @param to   word at which the iteration stops, or null for no upper bound
+     * @return an iterator over the words in the range
+     */
+    public Iterator<Word> range(String from, String to) {
+        return new TreeIterator(RangeIndex.normalizeBound(from), RangeIndex.normalizeBound(to));
+    }
+}
@@ -0,0 +1,71 @@
+package project5;
+
+import java.util.Iterator;
+
+/**
+ * An Index that keeps its words in order and can iterate over just the words
+ * in a given range, starting directly at the first of them instead of
+ * scanning the index from the smallest word.
+ *
+ * @version October 18, 2026
+ */
+public interface RangeIndex extends Index {
+
+    /**
+     * Returns an iterator over the words that are at least from and smaller
+     * than to, in alphabetical order. The bounds are converted to lower case
+     * and trimmed like the words themselves. The remove() method of the
+     * iterator removes the last returned word from this index.
+     *
+     * @param from smallest word to be returned, or null for no lower bound
+     * @param to   word at which the iteration stops (it is not returned),
+     *             or null for no upper bound
+     * @return iterator over the words in the range
+     */
+    Iterator<Word> range(String from, String to);
+
+    /**
+     * Returns an iterator over the words that start with the given prefix,
+     * in alphabetical order. An empty prefix matches every word.
+     *
+     * @param prefix beginning of the words to be returned
+     * @return iterator over the words that start with prefix
+     * @throws IllegalArgumentException if prefix is null
+     */
+    default Iterator<Word> prefix(String prefix) {
+        if (prefix == null)
+            throw new IllegalArgumentException("Prefix cannot be null.");
+        prefix = prefix.toLowerCase().trim();
+        return range(prefix, prefixEnd(prefix));
+    }
+
+    /**
+     * Returns the smallest string that is larger than every string starting
+     * with prefix: the prefix with its last character incremented, after
+     * dropping any trailing characters that cannot be incremented.
+     *
+     * @param prefix beginning of a group of words
+     * @return the end of the range of words starting with prefix, or null if
+     *         there is no such string (the range has no upper bound)
+     */
+    static String prefixEnd(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE)
+            end--;
+        if (end == 0)
+            return null;
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+
+    /**
+     * Converts a bound of a range the same way the words are converted when
+     * they are added, keeping null (no bound) as it is.
+     *
+     * @param bound the bound given by the caller
+     * @return the bound in lower case without surrounding white space
+     */
+    static String normalizeBound(String bound) {
+        return (bound == null) ? null : bound.toLowerCase().trim();
+    }
+
+}
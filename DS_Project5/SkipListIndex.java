@@ -0,0 +1,411 @@
+package project5;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * This is an implementation of a sorted doubly-linked list of Word objects with
+ * skip list levels built on top of it. It implements Index interface and
+ * Iterable interface.
+ *
+ * The nodes form the same doubly-linked chain as in SortedLinkedList, in
+ * ascending order of the words. In addition, every node is given a random
+ * height and is linked to the next node of at least the same height at each
+ * of its levels, so a search can skip over most of the chain. Each node is on
+ * level i with probability 1/2^i, which gives O(log n) expected time for add(),
+ * get() and remove() while iteration still just follows the chain.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class SkipListIndex implements PrunableIndex, MergeableIndex, Iterable<Word>
+{
+    //enough levels for far more words than can ever fit in memory
+    private static final int MAX_LEVEL = 32;
+
+    /* Inner class to represent nodes of this list.*/
+    private class Node
+    {
+        Word data;
+        //next[0] is the next node in the chain, next[i] the next node of height > i;
+        //prev is the previous node in the chain (null for the first node)
+        Node[] next;
+        Node prev;
+
+        Node(Word data, int height)
+        {
+            this.data = data;
+            this.next = new Node[height];
+        }
+    }
+
+    //private members: a header node that holds no word and has every level,
+    //the number of words, the number of levels currently in use, the
+    //source of the random node heights and the predecessors of the node
+    //searched for on each level (kept here so that they are not allocated
+    //for every word)
+    private final Node header;
+    private int size;
+    private int levels;
+    private final Random random;
+    private final Node[] update;
+
+    /**
+     * Constructs a new empty list.
+     */
+    public SkipListIndex()
+    {
+        header = new Node(null, MAX_LEVEL);
+        size = 0;
+        levels = 1;
+        random = new Random();
+        update = new Node[MAX_LEVEL];
+    }
+
+    /**
+     * Returns the number of unique words stored in the index.
+     * NOTE: this counts each word only once even it the count associated
+     * with a word is larger than one
+     * @return number of items stored in the index
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Adds an item to the index in sorted order. If the same word already exists,
+     * its count is incremented by one.
+     *
+     * @param word new item to be added
+     * @throws IllegalArgumentException when item is null
+     */
+    public void add(String word) throws IllegalArgumentException
+    {
+        if(word == null)
+            throw new IllegalArgumentException("Word to be added cannot be null or empty");
+
+        if(word.trim().isEmpty())
+            return;
+
+        addCount(word.toLowerCase().trim(), 1);
+    }
+
+    /**
+     * Returns the count associated with the given word, or -1 if the word
+     * is not in the index.
+     *
+     * @param word the word whose count should be returned
+     * @return the count associated with the word, or -1 if the word does not exist
+     */
+    public int get(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return -1;
+
+        word = word.toLowerCase().trim();
+
+        Node current = header;
+        for(int level = levels - 1; level >= 0; level--){
+            while(current.next[level] != null){
+                int cmp = current.next[level].data.getWord().compareTo(word);
+                if(cmp == 0)
+                    return current.next[level].data.getCount();
+                if(cmp > 0)
+                    break;
+                current = current.next[level];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes an item from the index if it exists, otherwise the index remains
+     * unchanged. This operation removes the word regardless of what the count is.
+     *
+     * @param word item to be removed
+     */
+    public void remove(String word)
+    {
+        if(word == null || word.trim().isEmpty())
+            return;
+
+        word = word.toLowerCase().trim();
+
+        Node current = findPredecessors(word, update);
+        if(current != null && current.data.getWord().equals(word))
+            unlink(current, update);
+    }
+
+    /**
+     * Removes every Word object whose count is smaller than minCount.
+     * The chain is traversed once, keeping track of the last remaining node
+     * on each level, so the whole operation takes O(n) time.
+     *
+     * @param minCount smallest count of the words that should remain in the index
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        Node[] last = new Node[levels];
+        for(int level = 0; level < levels; level++)
+            last[level] = header;
+
+        int removed = 0;
+        Node current = header.next[0];
+        while(current != null){
+            Node next = current.next[0];
+            if(current.data.getCount() < minCount){
+                unlink(current, last);
+                removed++;
+            }
+            else{
+                for(int level = 0; level < current.next.length; level++)
+                    last[level] = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Adds all the words of other to this index, adding up the counts of the
+     * words that appear in both. Each word takes O(log n) expected time.
+     *
+     * @param other index whose words should be added to this index
+     * @throws IllegalArgumentException if other is null or is this index
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        for(Word word : other)
+            addCount(word.getWord(), word.getCount());
+    }
+
+    /**
+     * Increases the count of the given (already normalized) word by amount,
+     * inserting a new node first if the word is not in the index.
+     *
+     * @param word the word to be counted
+     * @param amount the number to be added to its count
+     */
+    private void addCount(String word, int amount)
+    {
+        Node current = findPredecessors(word, update);
+        if(current != null && current.data.getWord().equals(word)){
+            if(amount == 1)
+                current.data.incrementCount();
+            else
+                current.data = new Word(word, current.data.getCount() + amount);
+            return;
+        }
+
+        // the Word object is only created once the word is known to be new
+        int height = randomHeight();
+        for(int level = levels; level < height; level++)
+            update[level] = header;
+        if(height > levels)
+            levels = height;
+
+        Node newNode = new Node(new Word(word, amount), height);
+        for(int level = 0; level < height; level++){
+            newNode.next[level] = update[level].next[level];
+            update[level].next[level] = newNode;
+        }
+
+        newNode.prev = (update[0] == header) ? null : update[0];
+        if(newNode.next[0] != null)
+            newNode.next[0].prev = newNode;
+        size++;
+    }
+
+    /**
+     * Finds, on every level in use, the last node whose word is smaller than
+     * the given word and stores it in update.
+     *
+     * @param word the word to search for
+     * @param update array of at least levels elements to be filled in
+     * @return the first node whose word is not smaller than word, or null
+     */
+    private Node findPredecessors(String word, Node[] update)
+    {
+        Node current = header;
+        for(int level = levels - 1; level >= 0; level--){
+            while(current.next[level] != null
+                    && current.next[level].data.getWord().compareTo(word) < 0)
+                current = current.next[level];
+            update[level] = current;
+        }
+        return current.next[0];
+    }
+
+    /**
+     * Removes the given node from every level it is on, given the node
+     * that precedes it on each of those levels.
+     *
+     * @param node the node to be removed
+     * @param update the predecessors of node on each level
+     */
+    private void unlink(Node node, Node[] update)
+    {
+        for(int level = 0; level < node.next.length; level++)
+            update[level].next[level] = node.next[level];
+
+        if(node.next[0] != null)
+            node.next[0].prev = node.prev;
+
+        while(levels > 1 && header.next[levels - 1] == null)
+            levels--;
+        size--;
+    }
+
+    /**
+     * Returns a random node height: 1 with probability 1/2, 2 with
+     * probability 1/4 and so on.
+     */
+    private int randomHeight()
+    {
+        return 1 + Integer.numberOfTrailingZeros(random.nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * Returns a string representation of this index in the following format:
+     * [count word, count word, ...] with the words in alphabetical order.
+     *
+     * @return a string representation of this index
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder to_return = new StringBuilder("[");
+
+        Node current = header.next[0];
+        while(current != null){
+            to_return.append(current.data);
+            if(current.next[0] != null)
+                to_return.append(", ");
+            current = current.next[0];
+        }
+
+        return to_return.append("]").toString();
+    }
+
+    /**
+     * Compares this index with any other Index implementation for equality.
+     * Two indexes are equal if they contain the same number of elements and each
+     * element is equal to the corresponding element in the other index when both
+     * are traversed in alphabetical order.
+     *
+     * @param o the object to compare with this index
+     * @return true if the specified object is equal to this index, false otherwise
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == null)
+            return false;
+        if (!(o instanceof Index))
+            return false;
+        Index other = (Index) o;
+
+        if(this.size() != other.size())
+            return false;
+
+        Iterator<Word> list_iterator = this.iterator();
+        Iterator<Word> other_iterator = other.iterator();
+
+        while(list_iterator.hasNext() && other_iterator.hasNext()){
+            Word w1 = list_iterator.next();
+            Word w2 = other_iterator.next();
+            if(!w1.equals(w2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code that is consistent with equals(): it depends only
+     * on the words of this index and their counts, in iteration order.
+     *
+     * @return a hash code for this index
+     */
+    @Override
+    public int hashCode()
+    {
+        return Indexes.hashCode(this);
+    }
+
+    /**
+     * A forward iterator that follows the chain of nodes in alphabetical order.
+     *
+     * The class has three methods: hasNext(), next(), and remove().
+     */
+    private class ListIterator implements Iterator<Word>
+    {
+        Node nextToReturn = header.next[0];
+        Node lastReturned = null;
+
+        /**
+         * Returns true if the iteration has more elements, false otherwise.
+         */
+        @Override
+        public boolean hasNext()
+        {
+            return nextToReturn != null;
+        }
+
+        /**
+         * Returns the next element in the iteration.
+         *
+         * @return the next element in the iteration
+         * @throws NoSuchElementException if the iteration has no more elements
+         */
+        @Override
+        public Word next() throws NoSuchElementException
+        {
+            if (nextToReturn == null)
+                throw new NoSuchElementException("End of the list reached.");
+            lastReturned = nextToReturn;
+            nextToReturn = nextToReturn.next[0];
+            return lastReturned.data;
+        }
+
+        /**
+         * Removes from the underlying index the last element returned by this iterator.
+         * This method can be called only once per call to next(). The predecessors
+         * of the node on its levels are found by following the chain backwards from
+         * the node to the nearest node of each height, which takes O(1) expected time.
+         *
+         * @throws IllegalStateException if the next method has not yet been called
+         */
+        @Override
+        public void remove() throws IllegalStateException
+        {
+            if (lastReturned == null)
+                throw new IllegalStateException("next() has not been called yet.");
+
+            Node current = lastReturned.prev;
+            for(int level = 0; level < lastReturned.next.length; level++){
+                while(current != null && current.next.length <= level)
+                    current = current.prev;
+                update[level] = (current == null) ? header : current;
+            }
+            unlink(lastReturned, update);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in the index in alphabetical order.
+     *
+     * @return an iterator over the elements in the index
+     */
+    @Override
+    public Iterator<Word> iterator()
+    {
+        return new ListIterator();
+    }
+}
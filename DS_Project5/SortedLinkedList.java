@@ -17,7 +17,7 @@ import java.util.Iterator;
  * @param <Word> the type of elements held in this list
  */
 
-public class SortedLinkedList implements Index, Iterable<Word>
+public class SortedLinkedList implements PrunableIndex, MergeableIndex, MeasurableIndex, Iterable<Word>
 {
     /* Inner class to represent nodes of this list.*/
     private class Node implements Comparable<Node> 
@@ -78,10 +78,8 @@ public class SortedLinkedList implements Index, Iterable<Word>
         
         element = element.toLowerCase().trim();
 
-        Node newNode = new Node(new Word(element));
-
         if(size == 0){
-            head = tail = newNode;
+            head = tail = new Node(new Word(element));
             size++;
             return;
         }
@@ -89,11 +87,14 @@ public class SortedLinkedList implements Index, Iterable<Word>
         Node current = head;
 
         while(current != null){
-            if(current.data.compareTo(newNode.data) == 0){
+            int cmp = current.data.getWord().compareTo(element);
+            if(cmp == 0){
                 current.data.incrementCount();
                 return;
             }
-            else if(current.data.compareTo(newNode.data) > 0){
+            else if(cmp > 0){
+                // the Word object is only created once the word is known to be new
+                Node newNode = new Node(new Word(element));
                 if(current == head){
                     newNode.next = head;
                     head.prev = newNode;
@@ -113,6 +114,7 @@ public class SortedLinkedList implements Index, Iterable<Word>
             current = current.next;
         }
 
+        Node newNode = new Node(new Word(element));
         tail.next = newNode;
         newNode.prev = tail;
         tail = newNode;
@@ -146,6 +148,43 @@ public class SortedLinkedList implements Index, Iterable<Word>
         return -1;
     }
 
+    /**
+     * Returns the number of nodes that get(word) compares with word: the
+     * position of word in this list, or the size of this list if the word
+     * is not in it.
+     *
+     * @param word the word to search for
+     * @return number of nodes examined by a search for word
+     */
+    public int searchDepth(String word)
+    {
+        if(word == null || this.size() == 0 || word.trim().isEmpty())
+            return 0;
+
+        word = word.toLowerCase().trim();
+
+        int depth = 0;
+        Node current = head;
+        while(current != null){
+            depth++;
+            if(current.data.getWord().equals(word))
+                return depth;
+            current = current.next;
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the length of the longest search in this list, which is the
+     * number of its elements.
+     *
+     * @return the number of elements in this list
+     */
+    public int height()
+    {
+        return size;
+    }
+
      /**
      * Removes an item from the list if it exists, otherwise the list remains
      * unchanged. This operation removes the Word object matching the
@@ -166,30 +205,107 @@ public class SortedLinkedList implements Index, Iterable<Word>
 
         while(current != null){
             if(current.data.getWord().equals(word)){
-                if(current == head){
-                    head = head.next;
-                    head.prev = null;
-                    size--;
-                    break;
-                }
-                else if(current == tail){ 
-                    tail = tail.prev;
-                    tail.next = null;
-                    size--;
-                    break;
-                }
-                else {
-                    current.prev.next = current.next; 
-                    current.next.prev = current.prev;
-                    size--;
-                    break;
-                }
+                unlink(current);
+                break;
             }
             else 
                 current = current.next;
         }
     }
 
+    /**
+     * Removes every Word object whose count is smaller than minCount.
+     * The list is traversed once and each such node is spliced out of
+     * the list as it is reached, so the whole operation takes O(n) time.
+     *
+     * @param minCount smallest count of the words that should remain in the list
+     * @return number of words that have been removed
+     */
+    public int pruneBelow(int minCount)
+    {
+        int removed = 0;
+        Node current = head;
+
+        while(current != null){
+            Node next = current.next;
+            if(current.data.getCount() < minCount){
+                unlink(current);
+                removed++;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Adds all the words of other to this list, adding up the counts of the
+     * words that appear in both. Both indexes are traversed once in alphabetical
+     * order and the new nodes are spliced into this list as they are reached,
+     * so the whole operation takes O(n + m) time.
+     *
+     * @param other index whose words should be added to this list
+     * @throws IllegalArgumentException if other is null or is this list
+     */
+    public void merge(Index other) throws IllegalArgumentException
+    {
+        if(other == null || other == this)
+            throw new IllegalArgumentException("Index to be merged cannot be null or this index.");
+
+        Node current = head;
+        for(Word word : other){
+            // skip the words of this list that are smaller than word
+            while(current != null && current.data.compareTo(word) < 0)
+                current = current.next;
+
+            if(current != null && current.data.compareTo(word) == 0){
+                current.data = new Word(word.getWord(), current.data.getCount() + word.getCount());
+                continue;
+            }
+
+            // insert a new node before current (or at the end of the list)
+            Node newNode = new Node(new Word(word.getWord(), word.getCount()));
+            if(current == null){
+                newNode.prev = tail;
+                if(tail == null)
+                    head = newNode;
+                else
+                    tail.next = newNode;
+                tail = newNode;
+            }
+            else{
+                newNode.next = current;
+                newNode.prev = current.prev;
+                if(current.prev == null)
+                    head = newNode;
+                else
+                    current.prev.next = newNode;
+                current.prev = newNode;
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Removes the given node from the list by connecting its neighbours
+     * to each other, updating head and tail when needed.
+     *
+     * @param node the node to be removed
+     */
+    private void unlink(Node node)
+    {
+        if(node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+
+        if(node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+
+        size--;
+    }
+
      /**
      *  Returns a string representation of the list.
      *  The string representation consists of a list of the lists's elements in
@@ -295,9 +411,8 @@ public class SortedLinkedList implements Index, Iterable<Word>
             if (lastReturned == null)
                 throw new IllegalStateException("next() has not been called yet.");
             
-            String word_to_remove = lastReturned.data.getWord();
-
-            SortedLinkedList.this.remove(word_to_remove); 
+            unlink(lastReturned);
+            lastReturned = null;
         }
     }
 
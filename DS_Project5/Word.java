@@ -11,11 +11,13 @@ package project5;
 public class Word implements Comparable<Word>
 {
     //private members
-    private String word; //the word stored in this object
+    private String word; //the word stored in this object, always in lower case
     private int count; //the count of the word stored in this object
     
     /**
      * Constructs a new Word object with the given word and sets initial count as 1.
+     * The word is converted to lower case once here, so that getWord(), toString()
+     * and compareTo() can use it directly without creating new strings.
      * @param word the word to be stored
      * @throws NullPointerException if the word is null or empty 
      */
@@ -24,10 +26,25 @@ public class Word implements Comparable<Word>
         if(word == null || word.trim().isEmpty())
             throw new NullPointerException("Word cannot be null or empty.");
         
-        this.word = word;
+        this.word = word.toLowerCase();
         this.count = 1;
     }
 
+    /**
+     * Constructs a new Word object with the given word and count.
+     * @param word the word to be stored
+     * @param count the number of times the word has been seen
+     * @throws NullPointerException if the word is null or empty
+     * @throws IllegalArgumentException if the count is smaller than 1
+     */
+    public Word(String word, int count) throws NullPointerException, IllegalArgumentException
+    {
+        this(word);
+        if(count < 1)
+            throw new IllegalArgumentException("Count must be a positive integer.");
+        this.count = count;
+    }
+
     /**
      * Increments the count of the word by 1.
      * @return the new count of the word
@@ -44,7 +61,7 @@ public class Word implements Comparable<Word>
      */
     public String getWord()
     {
-        return this.word.toLowerCase();
+        return this.word;
     }
     
     /**
@@ -63,7 +80,7 @@ public class Word implements Comparable<Word>
     @Override
     public String toString()
     {
-        return String.format("%5d  %s", this.count, this.word.toLowerCase());
+        return String.format("%5d  %s", this.count, this.word);
     }
 
     /**
@@ -81,7 +98,7 @@ public class Word implements Comparable<Word>
             return false;
         Word other = (Word) o;
 
-        if(this.word.equalsIgnoreCase(other.word) && this.count == other.count)
+        if(this.word.equals(other.word) && this.count == other.count)
             return true;
         else
             return false;
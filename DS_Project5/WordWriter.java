@@ -0,0 +1,220 @@
+package project5;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Writes Word objects to a file, one per line, producing exactly the same bytes
+ * as PrintWriter.println(word) in the default charset, but without formatting
+ * a String for every word.
+ *
+ * The count is converted to digits and the word is copied directly into a
+ * reusable buffer, which is written to the file whenever it fills up. Words
+ * made only of ASCII characters are copied byte by byte when the default charset
+ * encodes ASCII as single bytes; any other word goes through an encoder set up
+ * the same way as the one used by PrintWriter. If the default charset does not
+ * encode ASCII as single bytes (UTF-16, for example), or the default locale does
+ * not use ASCII digits, every line is formatted by Word.toString() and passed
+ * through that encoder, exactly as PrintWriter does.
+ *
+ * @version October 18, 2026
+ *
+ */
+public class WordWriter implements Closeable
+{
+    private static final int BUFFER_SIZE = 256 * 1024;
+    //width of the count in Word.toString()
+    private static final int COUNT_WIDTH = 5;
+
+    //private members: the output file, the buffer of bytes still to be written,
+    //the encoder for the words that cannot be copied byte by byte, the encoded
+    //line separator and whether the fast path may be used at all
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder;
+    private final byte[] lineSeparator;
+    private final boolean fastPath;
+
+    /**
+     * Creates a writer for the given file, replacing its contents.
+     *
+     * @param file the file to be written
+     * @throws IOException if the file cannot be opened for writing
+     */
+    public WordWriter(File file) throws IOException
+    {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                                   StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        Charset charset = Charset.defaultCharset();
+        encoder = charset.newEncoder()
+                         .onMalformedInput(CodingErrorAction.REPLACE)
+                         .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        lineSeparator = System.lineSeparator().getBytes(charset);
+        fastPath = encodesAsciiAsBytes(charset)
+                   && DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT))
+                                          .getZeroDigit() == '0';
+    }
+
+    /**
+     * Checks if the charset encodes every ASCII character as a single byte
+     * with its ASCII value.
+     */
+    private static boolean encodesAsciiAsBytes(Charset charset)
+    {
+        char[] ascii = new char[128];
+        for(int i = 0; i < ascii.length; i++)
+            ascii[i] = (char) i;
+        byte[] encoded = new String(ascii).getBytes(charset);
+        if(encoded.length != ascii.length)
+            return false;
+        for(int i = 0; i < encoded.length; i++){
+            if(encoded[i] != i)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the word in the format of Word.toString() followed by a line separator.
+     *
+     * @param word the word to be written
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Word word) throws IOException
+    {
+        if(!fastPath){
+            // one continuous stream of characters, as in PrintWriter; the line is
+            // encoded in one piece so that no character is left over at its end
+            encode(word.toString() + System.lineSeparator(), false);
+            return;
+        }
+
+        // the longest line that fits in the buffer without any check:
+        // 10 digits, two spaces, at most 4 bytes per character of the word
+        String text = word.getWord();
+        if(buffer.remaining() < 12 + 4 * text.length() + lineSeparator.length)
+            flushBuffer();
+
+        writeCount(word.getCount());
+        buffer.put((byte) ' ');
+        buffer.put((byte) ' ');
+
+        // (very long words may not fit in the buffer at all)
+        if(text.length() <= buffer.remaining() && isAscii(text)){
+            for(int i = 0; i < text.length(); i++)
+                buffer.put((byte) text.charAt(i));
+        }
+        else{
+            encoder.reset();
+            encode(text, true);
+        }
+        writeBytes(lineSeparator);
+    }
+
+    /**
+     * Writes the count right-aligned in a field of COUNT_WIDTH characters.
+     */
+    private void writeCount(int count)
+    {
+        // counts are always positive
+        int digits = 1;
+        for(int limit = 10; digits < 10 && count >= limit; limit *= 10)
+            digits++;
+
+        for(int i = digits; i < COUNT_WIDTH; i++)
+            buffer.put((byte) ' ');
+
+        int end = buffer.position() + digits;
+        for(int i = end - 1; i >= end - digits; i--){
+            buffer.put(i, (byte) ('0' + count % 10));
+            count /= 10;
+        }
+        buffer.position(end);
+    }
+
+    private static boolean isAscii(String text)
+    {
+        for(int i = 0; i < text.length(); i++){
+            if(text.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the characters into the buffer, writing the buffer to the file
+     * as often as needed.
+     *
+     * @param text characters to be encoded
+     * @param last true if no more characters will be passed to the encoder
+     *        before it is reset, in which case the encoder is also flushed
+     */
+    private void encode(CharSequence text, boolean last) throws IOException
+    {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while(encoder.encode(chars, buffer, last).isOverflow())
+            flushBuffer();
+        if(last){
+            while(encoder.flush(buffer).isOverflow())
+                flushBuffer();
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException
+    {
+        if(buffer.remaining() < bytes.length)
+            flushBuffer();
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes the contents of the buffer to the file and empties the buffer.
+     */
+    private void flushBuffer() throws IOException
+    {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes any buffered words to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException
+    {
+        flushBuffer();
+    }
+
+    /**
+     * Writes any buffered words to the file and closes it.
+     *
+     * @throws IOException if the file cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try{
+            if(!fastPath)
+                encode("", true);
+            flushBuffer();
+        }
+        finally{
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package project5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress tests for ConcurrentIndex: several threads add to one shared index
+ * while other threads iterate over it, merge other indexes into it or prune
+ * it, and the counts are checked once all of them are done.
+ *
+ * @version October 18, 2026
+ */
+class ConcurrentIndexStressTest
+{
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 200_000;
+    private static final int WORDS = 1000;
+
+    private static String word(int i)
+    {
+        return "word" + i;
+    }
+
+    /**
+     * Runs the adders and the other tasks at the same time. The other tasks
+     * are run over and over until every adder is done; the first exception
+     * thrown by any thread fails the test.
+     */
+    private static void runConcurrently(Runnable adder, int adders, Runnable... others)
+        throws InterruptedException
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean addersDone = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> adderThreads = new ArrayList<>();
+        for(int t = 0; t < adders; t++)
+            adderThreads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    adder.run();
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        List<Thread> otherThreads = new ArrayList<>();
+        for(Runnable other : others)
+            otherThreads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    do {
+                        other.run();
+                    } while(!addersDone.get() && failure.get() == null);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+
+        adderThreads.forEach(Thread::start);
+        otherThreads.forEach(Thread::start);
+        start.countDown();
+        for(Thread t : adderThreads)
+            t.join();
+        addersDone.set(true);
+        for(Thread t : otherThreads)
+            t.join();
+
+        if(failure.get() != null)
+            throw new AssertionError("a thread failed", failure.get());
+    }
+
+    /** Checks that the iteration is in alphabetical order with no zero counts. */
+    private static void checkIteration(Index index)
+    {
+        Word previous = null;
+        for(Word w : index){
+            assertTrue(w.getCount() > 0, "count of " + w.getWord() + " is " + w.getCount());
+            if(previous != null)
+                assertTrue(previous.getWord().compareTo(w.getWord()) < 0,
+                           previous.getWord() + " returned before " + w.getWord());
+            previous = w;
+        }
+    }
+
+    /** Sums the counts of all the words of the index. */
+    private static long total(Index index)
+    {
+        long total = 0;
+        for(Word w : index)
+            total += w.getCount();
+        return total;
+    }
+
+    @Test
+    void concurrentAddsAreNotLostWhileIterating() throws InterruptedException
+    {
+        ConcurrentIndex index = new ConcurrentIndex();
+
+        runConcurrently(() -> {
+            for(int i = 0; i < ADDS_PER_THREAD; i++)
+                index.add(word(i % WORDS));
+        }, THREADS, () -> checkIteration(index));
+
+        assertEquals(WORDS, index.size());
+        assertEquals((long) THREADS * ADDS_PER_THREAD, total(index));
+        for(int i = 0; i < WORDS; i++)
+            assertEquals(THREADS * ADDS_PER_THREAD / WORDS, index.get(word(i)));
+        checkIteration(index);
+    }
+
+    @Test
+    void mergeRunningWithAddsKeepsEveryCount() throws InterruptedException
+    {
+        ConcurrentIndex index = new ConcurrentIndex();
+        // half of the merged words are also added, the other half only merged
+        ConcurrentIndex other = new ConcurrentIndex();
+        for(int i = WORDS / 2; i < WORDS + WORDS / 2; i++)
+            for(int c = 0; c <= i % 3; c++)
+                other.add(word(i));
+        long otherTotal = total(other);
+        AtomicLong merges = new AtomicLong();
+
+        runConcurrently(() -> {
+            for(int i = 0; i < ADDS_PER_THREAD; i++)
+                index.add(word(i % WORDS));
+        }, THREADS, () -> {
+            index.merge(other);
+            merges.incrementAndGet();
+        }, () -> checkIteration(index));
+
+        assertEquals(WORDS + WORDS / 2, index.size());
+        assertEquals((long) THREADS * ADDS_PER_THREAD + merges.get() * otherTotal, total(index));
+        for(int i = 0; i < WORDS + WORDS / 2; i++){
+            int added = (i < WORDS) ? THREADS * ADDS_PER_THREAD / WORDS : 0;
+            int merged = (i < WORDS / 2) ? 0 : (int) merges.get() * (i % 3 + 1);
+            assertEquals(added + merged, index.get(word(i)), word(i));
+        }
+        checkIteration(index);
+    }
+
+    /**
+     * pruneBelow() guarantees that a word is removed only while its count is
+     * below minCount and that the increments removed with it are exactly those
+     * made before it was removed. With minCount 2 every removed word therefore
+     * takes exactly one increment with it, so the remaining counts plus the
+     * number of removed words must add up to the number of adds. Words whose
+     * count is already at least minCount must never be removed.
+     */
+    @Test
+    void pruneRunningWithAddsRemovesOnlyRareWords() throws InterruptedException
+    {
+        ConcurrentIndex index = new ConcurrentIndex();
+        int minCount = 2;
+        // frequent words start at minCount, so they must survive every prune
+        int frequent = 100;
+        for(int i = 0; i < frequent; i++)
+            for(int c = 0; c < minCount; c++)
+                index.add("frequent" + i);
+        AtomicLong removed = new AtomicLong();
+
+        // every adder adds each frequent word once in a while and otherwise adds
+        // the same new words as all the other adders, so the pruning thread keeps
+        // reaching words whose count of one is being incremented at that moment
+        runConcurrently(() -> {
+            for(int i = 0; i < ADDS_PER_THREAD; i++){
+                if(i % 10 == 0)
+                    index.add("frequent" + (i / 10) % frequent);
+                else
+                    index.add(word(i));
+            }
+        }, THREADS, () -> removed.addAndGet(index.pruneBelow(minCount)), () -> checkIteration(index));
+
+        long frequentAdds = (long) THREADS * (ADDS_PER_THREAD / 10);
+        long rareAdds = (long) THREADS * ADDS_PER_THREAD - frequentAdds;
+        long frequentTotal = 0;
+        for(int i = 0; i < frequent; i++){
+            int count = index.get("frequent" + i);
+            assertTrue(count >= minCount, "frequent" + i + " was pruned");
+            frequentTotal += count;
+        }
+        assertEquals((long) frequent * minCount + frequentAdds, frequentTotal);
+        assertTrue(removed.get() > 0, "nothing was pruned while the words were added");
+        assertEquals(rareAdds, total(index) - frequentTotal + removed.get());
+
+        int size = 0;
+        for(Word w : index)
+            size++;
+        assertEquals(size, index.size());
+        checkIteration(index);
+    }
+}
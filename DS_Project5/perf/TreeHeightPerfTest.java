@@ -0,0 +1,87 @@
+package project5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Performance-regression tests for the tree indexes that do not depend on
+ * timing: the cost of a search is measured as the number of nodes it visits
+ * (MeasurableIndex.searchDepth()). Words added in alphabetical order are the
+ * worst case for BSTIndex, which degenerates into a list, while RBTIndex must
+ * keep every search within 2 log2(n + 1) nodes.
+ *
+ * @version October 18, 2026
+ */
+class TreeHeightPerfTest
+{
+    /** Returns n words whose alphabetical order is the order of i. */
+    private static String[] sortedWords(int n)
+    {
+        String[] words = new String[n];
+        for(int i = 0; i < n; i++)
+            words[i] = String.format("w%07d", i);
+        return words;
+    }
+
+    private static <T extends MeasurableIndex> T addAll(T index, String[] words)
+    {
+        for(String word : words)
+            index.add(word);
+        return index;
+    }
+
+    /** The height bound of a red-black tree with n nodes. */
+    private static int redBlackBound(int n)
+    {
+        return (int) Math.floor(2 * Math.log(n + 1) / Math.log(2));
+    }
+
+    @Test
+    void bstIndexDegeneratesOnSortedInput()
+    {
+        String[] words = sortedWords(4000);
+        BSTIndex bst = addAll(new BSTIndex(), words);
+
+        // every word is the right child of the previous one
+        assertEquals(words.length, bst.height());
+        assertEquals(words.length, bst.searchDepth(words[words.length - 1]));
+    }
+
+    @Test
+    void rbtIndexStaysLogarithmicOnSortedInput()
+    {
+        String[] words = sortedWords(4000);
+        RBTIndex rbt = addAll(new RBTIndex(), words);
+
+        assertEquals(words.length, rbt.size());
+        assertTrue(rbt.height() <= redBlackBound(words.length),
+                   "height " + rbt.height() + " of " + words.length + " sorted words");
+        long totalDepth = 0;
+        for(String word : words){
+            int depth = rbt.searchDepth(word);
+            assertTrue(depth <= redBlackBound(words.length), word + " is at depth " + depth);
+            totalDepth += depth;
+        }
+        // a search of the degenerate BSTIndex visits n / 2 nodes on average
+        assertTrue(totalDepth / words.length <= redBlackBound(words.length));
+    }
+
+    @Test
+    void rbtIndexHeightGrowsLogarithmically()
+    {
+        // every time the number of sorted words doubles, the height may grow
+        // by at most two (the bound 2 log2(n + 1) grows by two)
+        int previousHeight = 0;
+        for(int n = 1 << 10; n <= 1 << 17; n <<= 1){
+            RBTIndex rbt = addAll(new RBTIndex(), sortedWords(n));
+            int height = rbt.height();
+            assertTrue(height <= redBlackBound(n), "height " + height + " of " + n + " sorted words");
+            if(previousHeight > 0)
+                assertTrue(height <= previousHeight + 2,
+                           "height grew from " + previousHeight + " to " + height + " at " + n + " words");
+            previousHeight = height;
+        }
+    }
+}
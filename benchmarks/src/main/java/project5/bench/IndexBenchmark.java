@@ -0,0 +1,135 @@
+package project5.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import project5.FrequentWords;
+import project5.Index;
+import project5.Word;
+
+/**
+ * JMH benchmarks for the operations of the project5 Index implementations.
+ *
+ * Every benchmark processes a whole word stream or vocabulary per invocation, so
+ * the reported time is per pass; divide by the stream length (4 x vocabularySize)
+ * or by vocabularySize to get the time per operation.
+ * Any data structure known to FrequentWords.createIndex() can be benchmarked by
+ * adding its name to the indexType parameter, e.g. -p indexType=bst,hash
+ * Allocation rates are reported when the benchmarks are run with -prof gc.
+ *
+ * @version October 18, 2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexBenchmark {
+
+    // the sorted linked list is quadratic; leave it out with -p for quicker runs
+    @Param({ "list", "bst", "rbt", "hash", "concurrent", "compact", "offheap", "skiplist", "radix" })
+    public String indexType;
+
+    @Param({ "1000", "10000" })
+    public int vocabularySize;
+
+    @Param({ "random", "sorted", "zipf" })
+    public String order;
+
+    // words to be counted, each word of the vocabulary to be looked up or
+    // removed in random order, and an index populated with the words
+    private String[] stream;
+    private String[] lookups;
+    private Index populated;
+    private int medianCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] vocabulary = WordStreams.vocabulary(vocabularySize);
+        stream = WordStreams.stream(vocabulary, 4 * vocabularySize, order);
+        lookups = WordStreams.shuffled(vocabulary);
+        populated = populate();
+
+        // pruning below the median count removes about half of the words
+        int[] counts = new int[populated.size()];
+        int i = 0;
+        for (Word w : populated)
+            counts[i++] = w.getCount();
+        Arrays.sort(counts);
+        medianCount = counts.length == 0 ? 1 : counts[counts.length / 2];
+    }
+
+    private Index populate() {
+        Index index = FrequentWords.createIndex(indexType);
+        if (index == null)
+            throw new IllegalArgumentException("Unknown index type " + indexType);
+        for (String word : stream)
+            index.add(word);
+        return index;
+    }
+
+    /**
+     * A freshly populated index for the benchmarks that modify it.
+     */
+    @State(Scope.Thread)
+    public static class FreshIndex {
+        Index index;
+
+        @Setup(Level.Invocation)
+        public void setUp(IndexBenchmark benchmark) {
+            index = benchmark.populate();
+        }
+    }
+
+    /** Adds every word of the stream to a new, empty index. */
+    @Benchmark
+    public Index add() {
+        return populate();
+    }
+
+    /** Looks up every word of the vocabulary. */
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (String word : lookups)
+            bh.consume(populated.get(word));
+    }
+
+    /** Iterates over the whole index in alphabetical order. */
+    @Benchmark
+    public long iterate() {
+        long total = 0;
+        for (Word w : populated)
+            total += w.getCount();
+        return total;
+    }
+
+    /** Removes every word of the vocabulary, in random order. */
+    @Benchmark
+    public Index remove(FreshIndex fresh) {
+        for (String word : lookups)
+            fresh.index.remove(word);
+        return fresh.index;
+    }
+
+    /** Prunes the words whose count is below the median count. */
+    @Benchmark
+    public Index prune(FreshIndex fresh) {
+        FrequentWords.pruneIndex(fresh.index, medianCount);
+        return fresh.index;
+    }
+}
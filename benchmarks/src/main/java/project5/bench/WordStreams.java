@@ -0,0 +1,114 @@
+package project5.bench;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Generates the synthetic vocabularies and word streams used by the benchmarks.
+ * All the streams are generated from a fixed seed, so every run (and every
+ * Index implementation) sees exactly the same input.
+ *
+ * @version October 18, 2026
+ */
+public final class WordStreams {
+
+    private static final long SEED = 102;
+
+    private WordStreams() {
+    }
+
+    /**
+     * Returns the given number of distinct lower case words of 3 to 10 letters,
+     * in random order.
+     *
+     * @param size number of words to generate
+     * @return array of distinct words
+     */
+    public static String[] vocabulary(int size) {
+        Random random = new Random(SEED);
+        HashSet<String> seen = new HashSet<>();
+        String[] words = new String[size];
+        char[] letters = new char[10];
+
+        int count = 0;
+        while (count < size) {
+            int length = 3 + random.nextInt(8);
+            for (int i = 0; i < length; i++)
+                letters[i] = (char) ('a' + random.nextInt(26));
+            String word = new String(letters, 0, length);
+            if (seen.add(word))
+                words[count++] = word;
+        }
+        return words;
+    }
+
+    /**
+     * Returns a stream of words taken from the vocabulary in the given order:
+     * <ul>
+     * <li>random: every word is equally likely at every position,</li>
+     * <li>sorted: the vocabulary in alphabetical order, repeated until the
+     *     stream is full, like a dictionary or a sorted log,</li>
+     * <li>zipf: word frequencies follow Zipf's law (the k-th most common word
+     *     appears about 1/k as often as the most common one), like natural text.</li>
+     * </ul>
+     *
+     * @param vocabulary distinct words to draw from
+     * @param length     number of words in the stream
+     * @param order      one of random, sorted, zipf
+     * @return the stream of words
+     * @throws IllegalArgumentException if the order is not known
+     */
+    public static String[] stream(String[] vocabulary, int length, String order) {
+        Random random = new Random(SEED + 1);
+        String[] stream = new String[length];
+
+        if (order.equals("random")) {
+            for (int i = 0; i < length; i++)
+                stream[i] = vocabulary[random.nextInt(vocabulary.length)];
+        }
+        else if (order.equals("sorted")) {
+            String[] sorted = vocabulary.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < length; i++)
+                stream[i] = sorted[i % sorted.length];
+        }
+        else if (order.equals("zipf")) {
+            // cumulative distribution of the ranks 1..n with weights 1/k
+            double[] cumulative = new double[vocabulary.length];
+            double total = 0;
+            for (int k = 0; k < vocabulary.length; k++) {
+                total += 1.0 / (k + 1);
+                cumulative[k] = total;
+            }
+            for (int i = 0; i < length; i++) {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                if (rank < 0)
+                    rank = -rank - 1;
+                stream[i] = vocabulary[Math.min(rank, vocabulary.length - 1)];
+            }
+        }
+        else {
+            throw new IllegalArgumentException("Unknown word order " + order);
+        }
+        return stream;
+    }
+
+    /**
+     * Returns a copy of the words in random order.
+     *
+     * @param words words to be shuffled
+     * @return shuffled copy of words
+     */
+    public static String[] shuffled(String[] words) {
+        Random random = new Random(SEED + 2);
+        String[] copy = words.clone();
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return copy;
+    }
+}